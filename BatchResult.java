@@ -0,0 +1,54 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of CaseManager.addCases: the cases that were added, and the
+ * rejected rows with the reason each one failed.
+ */
+public class BatchResult {
+    private final List<Violation> added = new ArrayList<>();
+    // Row position within the submitted batch -> why it was rejected
+    private final Map<Integer, InvalidViolationException> failures = new TreeMap<>();
+
+    void recordAdded(Violation violation) {
+        added.add(violation);
+    }
+
+    void recordFailure(int row, InvalidViolationException error) {
+        failures.put(row, error);
+    }
+
+    /**
+     * @return the added cases in batch order, with their assigned record IDs
+     */
+    public List<Violation> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * @return rejected rows keyed by their zero-based position in the batch
+     */
+    public Map<Integer, InvalidViolationException> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public int getAddedCount() {
+        return added.size();
+    }
+
+    public int getFailureCount() {
+        return failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Added %d case(s), rejected %d", added.size(), failures.size());
+    }
+}
@@ -0,0 +1,462 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless bulk importer for detection-tool exports (Turnitin, MOSS, ...).
+ *
+ * Reads CSV (with a header row) or JSON-lines files one row at a time and
+ * feeds CaseManager.addCases in fixed-size batches, so memory use does not
+ * grow with the file. Column names are matched ignoring case, spaces and
+ * underscores, so "incident_date", "Incident Date" and "incidentDate" are
+ * the same column.
+ *
+ * Required columns: enrollment, name, email, incident_date, faculty,
+ * gravity, description. Optional: department, type ("Plagiarism" or
+ * "Code Plagiarism", default Plagiarism), status, sanction, evidence,
+ * source, similarity, language, tool.
+ *
+ * Rows get the same checks as the interactive prompts (enrollment, name,
+ * email, date, faculty, gravity, description); status and sanction must be
+ * one of the CaseStatus and Sanction labels.
+ *
+ * Usage: java CaseImporter <file.csv|file.jsonl> [batchSize]
+ */
+public class CaseImporter {
+    public static final int DEFAULT_BATCH_SIZE = 2000;
+    // Rejected rows beyond this are counted but not described
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final CaseManager caseManager;
+    private final int batchSize;
+
+    /**
+     * Totals for one import run
+     */
+    public static class ImportSummary {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private long elapsedNanos;
+        private final List<String> errors = new ArrayList<>();
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + line + ": " + reason);
+            }
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * @return descriptions of the first rejected rows, in file order
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Read %d rows: %d imported, %d rejected in %.2f s (%.0f rows/sec)",
+                    rowsRead, imported, rejected, elapsedNanos / 1e9, getRowsPerSecond());
+        }
+    }
+
+    public CaseImporter(CaseManager caseManager) {
+        this(caseManager, DEFAULT_BATCH_SIZE);
+    }
+
+    public CaseImporter(CaseManager caseManager, int batchSize) {
+        this.caseManager = caseManager;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Import a file, choosing the format from its extension
+     * (.jsonl/.ndjson/.json for JSON lines, anything else as CSV)
+     */
+    public ImportSummary importFile(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+                return importJsonLines(reader);
+            }
+            return importCsv(reader);
+        }
+    }
+
+    public ImportSummary importCsv(Reader source) throws IOException {
+        CsvReader csv = new CsvReader(source);
+        List<String> header = csv.readRecord();
+        ImportSummary summary = new ImportSummary();
+        if (header == null) return summary;
+        String[] columns = new String[header.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = normalizeKey(header.get(i));
+        }
+
+        Batch batch = new Batch(summary);
+        long start = System.nanoTime();
+        List<String> record;
+        while (true) {
+            long line = csv.getLineNumber();
+            record = csv.readRecord();
+            if (record == null) break;
+            if (record.size() == 1 && record.get(0).isEmpty()) continue; // blank line
+            summary.rowsRead++;
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < columns.length && i < record.size(); i++) {
+                row.put(columns[i], record.get(i));
+            }
+            batch.add(row, line);
+        }
+        batch.flush();
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    public ImportSummary importJsonLines(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        ImportSummary summary = new ImportSummary();
+        Batch batch = new Batch(summary);
+        long start = System.nanoTime();
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) continue;
+            summary.rowsRead++;
+            try {
+                batch.add(parseJsonObject(text), line);
+            } catch (IllegalArgumentException e) {
+                summary.reject(line, "Malformed JSON: " + e.getMessage());
+            }
+        }
+        batch.flush();
+        summary.elapsedNanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    // Accumulates valid rows and hands them to CaseManager a batch at a time
+    private class Batch {
+        private final ImportSummary summary;
+        private final List<Violation> violations = new ArrayList<>(batchSize);
+        private final long[] lines = new long[batchSize];
+
+        Batch(ImportSummary summary) {
+            this.summary = summary;
+        }
+
+        void add(Map<String, String> row, long line) {
+            try {
+                lines[violations.size()] = line;
+                violations.add(toViolation(row));
+            } catch (InvalidViolationException e) {
+                summary.reject(line, e.getMessage());
+                return;
+            }
+            if (violations.size() == batchSize) flush();
+        }
+
+        void flush() {
+            if (violations.isEmpty()) return;
+            BatchResult result = caseManager.addCases(violations);
+            summary.imported += result.getAddedCount();
+            result.getFailures().forEach((index, error) -> summary.reject(lines[index], error.getMessage()));
+            violations.clear();
+        }
+    }
+
+    private static Violation toViolation(Map<String, String> row) throws InvalidViolationException {
+        String enrollment = required(row, "enrollment");
+        check(ValidationEngine.checkEnrollmentNumber(enrollment), "enrollment", enrollment);
+        String name = required(row, "name");
+        check(ValidationEngine.checkFullName(name), "name", name);
+        String email = required(row, "email");
+        check(ValidationEngine.checkEmail(email), "email", email);
+        String incidentDate = required(row, "incidentdate");
+        check(ValidationEngine.checkDate(incidentDate), "incident_date", incidentDate);
+        String faculty = required(row, "faculty");
+        check(ValidationEngine.checkFacultyName(faculty), "faculty", faculty);
+        String gravity = required(row, "gravity");
+        check(ValidationEngine.checkInteger(gravity, ValidationEngine.MIN_GRAVITY, ValidationEngine.MAX_GRAVITY), "gravity", gravity);
+        String description = required(row, "description");
+        check(ValidationEngine.checkDescription(description), "description", description);
+        String department = optional(row, "department", "");
+        check(ValidationEngine.checkString(department, true), "department", department);
+        double similarity = parseSimilarity(optional(row, "similarity", "0"));
+
+        Student student = new Student(enrollment, name, email, department);
+        String status = optional(row, "status", CaseStatus.PENDING.getLabel());
+        checkLabel(CaseStatus.fromLabel(status), "status", status, CaseStatus.labels());
+        String sanction = optional(row, "sanction", Sanction.NONE.getLabel());
+        checkLabel(Sanction.fromLabel(sanction), "sanction", sanction, Sanction.labels());
+        String evidence = optional(row, "evidence", "");
+        String source = optional(row, "source", "");
+
+        MisconductType type = MisconductType.fromLabel(optional(row, "type", MisconductType.PLAGIARISM.getLabel()));
+        if (type == MisconductType.CODE_PLAGIARISM) {
+            return new CodePlagiarismViolation(student, type.getLabel(), LocalDate.parse(incidentDate), faculty,
+                    Integer.parseInt(gravity),
+                    status, sanction, description, 0, evidence, source, similarity,
+                    optional(row, "language", ""), optional(row, "tool", ""));
+        }
+        if (type != MisconductType.PLAGIARISM) {
+            throw new InvalidViolationException("Unsupported type for import: " + row.get("type"));
+        }
+        return new PlagiarismViolation(student, type.getLabel(), LocalDate.parse(incidentDate), faculty,
+                Integer.parseInt(gravity),
+                status, sanction, description, 0, evidence, source, similarity);
+    }
+
+    private static String required(Map<String, String> row, String column) throws InvalidViolationException {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            throw new InvalidViolationException("Missing required column: " + column);
+        }
+        return value.trim();
+    }
+
+    private static String optional(Map<String, String> row, String column, String defaultValue) {
+        String value = row.get(column);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static void check(ValidationError error, String column, String value) throws InvalidViolationException {
+        if (error != null) {
+            throw new InvalidViolationException(column + " '" + value + "': " + error.getMessage());
+        }
+    }
+
+    private static void checkLabel(Labeled constant, String column, String value, String[] labels)
+            throws InvalidViolationException {
+        if (constant == null) {
+            throw new InvalidViolationException(column + " '" + value + "': must be one of " + String.join(", ", labels));
+        }
+    }
+
+    private static double parseSimilarity(String value) throws InvalidViolationException {
+        String number = value.endsWith("%") ? value.substring(0, value.length() - 1) : value;
+        check(ValidationEngine.checkDouble(number, 0.0, 100.0), "similarity", value);
+        return Double.parseDouble(number);
+    }
+
+    private static String normalizeKey(String key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isLetterOrDigit(c)) normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+
+    // Flat JSON object of string, number, boolean or null values; nested values are rejected
+    static Map<String, String> parseJsonObject(String text) {
+        Map<String, String> row = new HashMap<>();
+        int[] pos = {skipSpace(text, 0)};
+        expect(text, pos, '{');
+        if (peek(text, pos) == '}') {
+            pos[0]++;
+        } else {
+            while (true) {
+                String key = readJsonString(text, pos);
+                expect(text, pos, ':');
+                row.put(normalizeKey(key), readJsonValue(text, pos));
+                char next = peek(text, pos);
+                pos[0]++;
+                if (next == '}') break;
+                if (next != ',') throw new IllegalArgumentException("expected ',' or '}' at " + (pos[0] - 1));
+            }
+        }
+        if (skipSpace(text, pos[0]) != text.length()) {
+            throw new IllegalArgumentException("trailing characters after object");
+        }
+        return row;
+    }
+
+    private static String readJsonValue(String text, int[] pos) {
+        char c = peek(text, pos);
+        if (c == '"') return readJsonString(text, pos);
+        if (c == '{' || c == '[') throw new IllegalArgumentException("nested values are not supported");
+        int start = pos[0];
+        int end = start;
+        while (end < text.length() && ",} \t\r\n".indexOf(text.charAt(end)) < 0) end++;
+        if (end == start) throw new IllegalArgumentException("missing value at " + start);
+        pos[0] = end;
+        String literal = text.substring(start, end);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private static String readJsonString(String text, int[] pos) {
+        expect(text, pos, '"');
+        StringBuilder value = new StringBuilder();
+        int i = pos[0];
+        while (true) {
+            if (i >= text.length()) throw new IllegalArgumentException("unterminated string");
+            char c = text.charAt(i++);
+            if (c == '"') break;
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (i >= text.length()) throw new IllegalArgumentException("unterminated escape");
+            char escaped = text.charAt(i++);
+            switch (escaped) {
+                case 'n': value.append('\n'); break;
+                case 't': value.append('\t'); break;
+                case 'r': value.append('\r'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (i + 4 > text.length()) throw new IllegalArgumentException("truncated \\u escape");
+                    value.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                    i += 4;
+                    break;
+                default: value.append(escaped);
+            }
+        }
+        pos[0] = i;
+        return value.toString();
+    }
+
+    private static char peek(String text, int[] pos) {
+        pos[0] = skipSpace(text, pos[0]);
+        if (pos[0] >= text.length()) throw new IllegalArgumentException("unexpected end of line");
+        return text.charAt(pos[0]);
+    }
+
+    private static void expect(String text, int[] pos, char expected) {
+        if (peek(text, pos) != expected) {
+            throw new IllegalArgumentException("expected '" + expected + "' at " + pos[0]);
+        }
+        pos[0]++;
+    }
+
+    private static int skipSpace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        return i;
+    }
+
+    /**
+     * RFC 4180 style CSV reader: quoted fields may contain commas, doubled
+     * quotes and line breaks.
+     */
+    static class CsvReader {
+        private final Reader in;
+        private long lineNumber = 1;
+        private int pushback = -1;
+
+        CsvReader(Reader in) {
+            this.in = in instanceof BufferedReader ? in : new BufferedReader(in);
+        }
+
+        /**
+         * @return the line on which the next record starts
+         */
+        long getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return the fields of the next record, or null at end of input
+         */
+        List<String> readRecord() throws IOException {
+            int c = read();
+            if (c < 0) return null;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) break; // unterminated quote: keep what was read
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') lineNumber++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c < 0) {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') pushback = next;
+                    }
+                    if (c >= 0) lineNumber++;
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            if (pushback != -1) {
+                int c = pushback;
+                pushback = -1;
+                return c;
+            }
+            return in.read();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java CaseImporter <file.csv|file.jsonl> [batchSize]");
+            return;
+        }
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+        CaseManager caseManager = CaseManager.load();
+        ImportSummary summary = new CaseImporter(caseManager, batchSize).importFile(Paths.get(args[0]));
+        caseManager.shutdown();
+
+        System.out.println(summary);
+        for (String error : summary.getErrors()) {
+            System.out.println("  " + error);
+        }
+        if (summary.getRejected() > summary.getErrors().size()) {
+            System.out.println("  ... and " + (summary.getRejected() - summary.getErrors().size()) + " more rejected rows");
+        }
+    }
+}
@@ -1,179 +1,1376 @@
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
-
-public class CaseManager implements Serializable {
-    private static final long serialVersionUID = 1L;
-
-    private List<Violation> cases;
-    private AtomicInteger nextCaseId;
-
-    public CaseManager() {
-        // Try to load existing data first
-        CaseManager loadedManager = DataPersistenceManager.loadData();
-
-        if (loadedManager != null) {
-            // Deep copy data
-            this.cases = new ArrayList<>(loadedManager.cases);
-            this.nextCaseId = new AtomicInteger(loadedManager.nextCaseId.get());
-        } else {
-            // Initialize with defaults
-            this.cases = new ArrayList<>();
-            this.nextCaseId = new AtomicInteger(1000);
-            initializeSampleData();
-        }
-    }
-
-    private void initializeSampleData() {
-        try {
-            Student student1 = new Student("20230001", "John Smith", "john.smith@university.edu", "Computer Science");
-            Student student2 = new Student("20230002", "Mary Davis", "mary.davis@university.edu", "Mathematics");
-            Student student3 = new Student("20230003", "Alex Chen", "alex.chen@university.edu", "Engineering");
-
-            PlagiarismViolation plagCase = new PlagiarismViolation(
-                    student1, "Plagiarism",
-                    java.time.LocalDate.of(2024, 3, 15), "Dr. Johnson", 3,
-                    "Under Investigation", "Grade Reduction",
-                    "Student submitted essay with 75% similarity to online source",
-                    0, "Turnitin report, original source documentation",
-                    "Wikipedia and academic papers", 75.3
-            );
-
-            CheatingViolation cheatCase = new CheatingViolation(
-                    student2, "Cheating",
-                    java.time.LocalDate.of(2024, 3, 20), "Prof. Wilson", 4,
-                    "Resolved", "Suspension",
-                    "Student used unauthorized notes during exam",
-                    0, "Security camera footage, confiscated notes",
-                    "Hidden notes under desk", "Cheat sheets, smartphone"
-            );
-
-            CollusionViolation collusionCase = new CollusionViolation(
-                    student3, "Collusion",
-                    java.time.LocalDate.of(2024, 3, 25), "Dr. Brown", 2,
-                    "Pending", "Warning",
-                    "Multiple students submitted identical lab reports",
-                    0, "Identical code submissions, similar formatting",
-                    "Alex Chen, Sarah Kim, Mike Thompson",
-                    "Shared lab report with identical results and formatting"
-            );
-
-            addCase(plagCase);
-            addCase(cheatCase);
-            addCase(collusionCase);
-
-            System.out.println("✅ Sample data initialized successfully.");
-        } catch (InvalidViolationException e) {
-            System.out.println("❌ Error initializing sample data: " + e.getMessage());
-        }
-    }
-
-    public void addCase(Violation violation) throws InvalidViolationException {
-        if (violation == null) throw new InvalidViolationException("Violation cannot be null");
-        violation.setRecordID(nextCaseId.getAndIncrement());
-        cases.add(violation);
-        saveData();
-    }
-
-    public Violation searchCase(int recordID) {
-        return cases.stream()
-                .filter(v -> v.getRecordID() == recordID)
-                .findFirst()
-                .orElse(null);
-    }
-
-    public List<Violation> searchByStudent(String enrollmentNumber) {
-        List<Violation> result = new ArrayList<>();
-        for (Violation v : cases) {
-            if (v.getStudent().getStudentID().equals(enrollmentNumber)) {
-                result.add(v);
-            }
-        }
-        return result;
-    }
-
-    public void removeCase(int recordID) {
-        cases.removeIf(v -> v.getRecordID() == recordID);
-        saveData();
-    }
-
-    public List<Violation> getAllCases() {
-        return new ArrayList<>(cases);
-    }
-
-    public int getTotalCases() {
-        return cases.size();
-    }
-
-    public void listCases() {
-        if (cases.isEmpty()) {
-            System.out.println("No cases in the system.");
-            return;
-        }
-
-        System.out.println("\n==================================================");
-        System.out.println("               ALL CASES SUMMARY                  ");
-        System.out.println("==================================================");
-        System.out.printf("%-8s | %-20s | %-15s | %-12s | %s\n",
-                "Case ID", "Student", "Type", "Status", "Gravity");
-        System.out.println("--------------------------------------------------");
-
-        for (Violation v : cases) {
-            System.out.printf("%-8d | %-20s | %-15s | %-12s | %d/5\n",
-                    v.getRecordID(),
-                    truncateString(v.getFullName(), 20),
-                    truncateString(v.getMisconductType(), 15),
-                    truncateString(v.getCurrentStatus(), 12),
-                    v.getGravityLevel());
-        }
-
-        System.out.println("==================================================");
-    }
-
-    public String generateSummaryReport() {
-        if (cases.isEmpty()) {
-            return "No cases available for summary report.";
-        }
-
-        StringBuilder report = new StringBuilder();
-        report.append("\n==================================================\n");
-        report.append("              SUMMARY REPORT                     \n");
-        report.append("==================================================\n");
-        report.append("Total Cases: ").append(cases.size()).append("\n");
-
-        // Cases by type
-        report.append("\n--- Cases by Type ---\n");
-        cases.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Violation::getMisconductType,
-                        java.util.stream.Collectors.counting()))
-                .forEach((type, count) -> report.append(String.format("%-20s: %d\n", type, count)));
-
-        // Cases by status
-        report.append("\n--- Cases by Status ---\n");
-        cases.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Violation::getCurrentStatus,
-                        java.util.stream.Collectors.counting()))
-                .forEach((status, count) -> report.append(String.format("%-20s: %d\n", status, count)));
-
-        // Cases by gravity
-        report.append("\n--- Cases by Gravity Level ---\n");
-        cases.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Violation::getGravityLevel,
-                        java.util.stream.Collectors.counting()))
-                .forEach((gravity, count) -> report.append(String.format("Level %-15d: %d\n", gravity, count)));
-
-        report.append("==================================================\n");
-        return report.toString();
-    }
-
-    public void saveData() {
-        DataPersistenceManager.saveData(this);
-    }
-
-    private String truncateString(String str, int maxLength) {
-        if (str == null) return "";
-        if (str.length() <= maxLength) return str;
-        return str.substring(0, maxLength - 3) + "...";
-    }
-}
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * The case store. Safe for concurrent use: lookups, listings and reports
+ * share a read lock, while adds, removals and changes reported by a
+ * Violation's setters hold the write lock. Listings iterate a snapshot
+ * taken under the read lock, and record IDs are assigned under the write
+ * lock, so they are unique and follow insertion order. Persistence runs
+ * after the lock is released.
+ */
+public class CaseManager implements Serializable, ViolationListener {
+    private static final long serialVersionUID = 1L;
+    // Queries use an index only when it narrows the candidates to this share of the store
+    private static final double INDEX_SELECTIVITY = 0.25;
+    // Full scans smaller than this are not worth splitting across threads
+    private static final int PARALLEL_SCAN_THRESHOLD = 10_000;
+
+    private List<Violation> cases;
+    private AtomicInteger nextCaseId;
+    // Primary-key index on recordID, rebuilt after load rather than serialized
+    private transient IntViolationMap recordIndex;
+    // Secondary index: enrollment number -> that student's violations
+    private transient Map<String, List<Violation>> studentIndex;
+    // Date-range indexes on incident and closure dates
+    private transient EpochDayIndex incidentIndex;
+    private transient EpochDayIndex closureIndex;
+    // Full-text index; built or loaded from disk on the first text search,
+    // then kept current with every change
+    private transient TextIndex textIndex;
+    // One ordered view of all cases per listing sort key
+    private transient Map<CaseSortKey, NavigableSet<Violation>> sortedIndexes;
+    // One shared Student per enrollment number across all cases
+    private transient StudentRegistry studentRegistry;
+    // Students linked by collusion cases
+    private transient CollusionGraph collusionGraph;
+    // Running aggregates behind the summary report and statistics screen
+    private transient CaseStatistics statistics;
+    // Case reports already rendered for the text export
+    private transient ReportCache reportCache;
+    // Mapped store whose cases have not all been decoded yet; null once
+    // everything is on the heap. While set, `cases` and the secondary
+    // indexes are empty and recordIndex only caches cases already looked up.
+    private volatile transient MappedCaseStore archive;
+    // Guards cases, the indexes and the counters; recreated after deserialization
+    private transient ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Background snapshot writer, started on the first change in write-behind mode
+    private volatile transient WriteBehindPersister writeBehind;
+    // Journal records queued under the lock, in the order the changes were made
+    private transient ArrayDeque<DataPersistenceManager.JournalRecord> pendingJournal = new ArrayDeque<>();
+    // Held while the queue is appended, so records reach the journal in queue order
+    private transient Object journalAppendLock = new Object();
+
+    public CaseManager() {
+        this(true);
+    }
+
+    /**
+     * Load the saved cases without the interactive defaults: when nothing is
+     * saved yet the store starts empty instead of seeding the sample cases.
+     * For headless tools (importer, similarity engines) that write to the
+     * real data files.
+     */
+    public static CaseManager load() {
+        return new CaseManager(false);
+    }
+
+    private CaseManager(boolean seedSampleData) {
+        // A mapped store is opened without decoding; otherwise load everything
+        MappedCaseStore mappedStore = DataPersistenceManager.openMappedStore();
+        CaseManager loadedManager = mappedStore == null ? DataPersistenceManager.loadData() : null;
+
+        if (mappedStore != null) {
+            this.cases = new ArrayList<>();
+            this.nextCaseId = new AtomicInteger(mappedStore.getNextCaseId());
+            rebuildIndexes();
+            this.archive = mappedStore;
+        } else if (loadedManager != null) {
+            // Deep copy data
+            this.cases = new ArrayList<>(loadedManager.cases);
+            this.nextCaseId = new AtomicInteger(loadedManager.nextCaseId.get());
+            rebuildIndexes();
+        } else {
+            // Initialize with defaults
+            this.cases = new ArrayList<>();
+            this.nextCaseId = new AtomicInteger(1000);
+            rebuildIndexes();
+            if (seedSampleData) initializeSampleData();
+        }
+    }
+
+    // Used by the persistence layer to rebuild state without triggering a load
+    CaseManager(List<Violation> cases, int nextCaseId) {
+        this.cases = new ArrayList<>(cases);
+        this.nextCaseId = new AtomicInteger(nextCaseId);
+        rebuildIndexes();
+    }
+
+    private void rebuildIndexes() {
+        recordIndex = new IntViolationMap(cases.size());
+        studentIndex = new HashMap<>();
+        incidentIndex = new EpochDayIndex();
+        closureIndex = new EpochDayIndex();
+        sortedIndexes = new EnumMap<>(CaseSortKey.class);
+        for (CaseSortKey key : CaseSortKey.values()) {
+            sortedIndexes.put(key, new TreeSet<>(key.comparator()));
+        }
+        statistics = new CaseStatistics();
+        if (studentRegistry == null) studentRegistry = new StudentRegistry();
+        if (reportCache == null) reportCache = new ReportCache();
+        collusionGraph = new CollusionGraph(studentRegistry);
+        for (Violation v : cases) {
+            recordIndex.put(v.getRecordID(), v);
+            canonicalizeStudent(v);
+            indexCase(v);
+            v.setListener(this);
+        }
+        if (textIndex != null) textIndex.retainAll(recordIndex::containsKey);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new ReentrantReadWriteLock();
+        pendingJournal = new ArrayDeque<>();
+        journalAppendLock = new Object();
+    }
+
+    // Decode whatever is still only in the mapped store. Needed before any
+    // mutation or operation that spans the whole archive.
+    private void materializeAll() {
+        if (archive == null) return;
+        lock.writeLock().lock();
+        try {
+            materializeLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void materializeLocked() {
+        if (archive == null) return;
+        try {
+            for (int id : archive.recordIDs()) {
+                Violation cached = recordIndex.get(id);
+                cases.add(cached != null ? cached : archive.load(id));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading mapped case store", e);
+        }
+        archive = null;
+        rebuildIndexes();
+    }
+
+    // A case added or edited under a known enrollment number may carry
+    // corrected contact details. They replace the registered ones, so every
+    // case of the student shows them; cached reports of those cases are stale.
+    private void adoptStudent(Violation v) {
+        Student incoming = v.getStudent();
+        // New students are registered by canonicalizeStudent
+        if (incoming != null && studentRegistry.contains(incoming.getStudentID())
+                && studentRegistry.update(incoming)) {
+            Student registered = studentRegistry.get(incoming.getStudentID());
+            if (archive != null) {
+                // Cases decoded from the mapped store are not in studentIndex
+                reportCache.clear();
+            } else {
+                for (Violation other : studentIndex.getOrDefault(registered.getStudentID(), new ArrayList<>())) {
+                    reportCache.invalidate(other.getRecordID());
+                }
+            }
+            collusionGraph.studentRegistered(registered);
+        }
+        canonicalizeStudent(v);
+    }
+
+    private void canonicalizeStudent(Violation v) {
+        boolean known = v.getStudent() == null || studentRegistry.contains(v.getEnrollmentNumber());
+        Student canonical = studentRegistry.intern(v.getStudent());
+        if (canonical != v.getStudent()) {
+            v.useCanonicalStudent(canonical);
+        }
+        if (!known) collusionGraph.studentRegistered(canonical);
+    }
+
+    // Secondary indexes are keyed on mutable fields, so they are maintained
+    // here and refreshed around every change reported by a Violation.
+    private void indexCase(Violation v) {
+        if (v.getStudent() != null) {
+            // Keep each student's cases in record ID order
+            List<Violation> studentCases = studentIndex.computeIfAbsent(v.getEnrollmentNumber(), k -> new ArrayList<>());
+            int position = studentCases.size();
+            while (position > 0 && studentCases.get(position - 1).getRecordID() > v.getRecordID()) {
+                position--;
+            }
+            studentCases.add(position, v);
+        }
+        incidentIndex.add(v.getIncidentDate(), v);
+        closureIndex.add(v.getClosureDate(), v);
+        // Only re-tokenizes when the case's text changed
+        if (textIndex != null) textIndex.put(v);
+        for (NavigableSet<Violation> sorted : sortedIndexes.values()) {
+            sorted.add(v);
+        }
+        if (v instanceof CollusionViolation) collusionGraph.add((CollusionViolation) v);
+        statistics.add(v);
+    }
+
+    private void unindexCase(Violation v) {
+        statistics.remove(v);
+        if (v instanceof CollusionViolation) collusionGraph.remove(v.getRecordID());
+        incidentIndex.remove(v.getIncidentDate(), v);
+        closureIndex.remove(v.getClosureDate(), v);
+        for (NavigableSet<Violation> sorted : sortedIndexes.values()) {
+            sorted.remove(v);
+        }
+        if (v.getStudent() != null) {
+            List<Violation> studentCases = studentIndex.get(v.getEnrollmentNumber());
+            if (studentCases != null) {
+                studentCases.remove(v);
+                if (studentCases.isEmpty()) {
+                    studentIndex.remove(v.getEnrollmentNumber());
+                }
+            }
+        }
+    }
+
+    // The update and the re-indexing around it run under the write lock,
+    // which is released however either of them fails.
+    @Override
+    public void applyChange(Violation violation, Runnable update) {
+        if (lock.getReadHoldCount() > 0) {
+            // A read lock cannot be upgraded; waiting for the write lock would deadlock
+            throw new IllegalStateException("Case " + violation.getRecordID()
+                    + " cannot be changed while this thread is reading the case store");
+        }
+        lock.writeLock().lock();
+        try {
+            if (recordIndex.get(violation.getRecordID()) != violation) {
+                // Removed after the setter read its listener; keep it out of the indexes
+                update.run();
+                return;
+            }
+            boolean indexed = archive == null;
+            if (indexed) unindexCase(violation);
+            try {
+                update.run();
+            } finally {
+                adoptStudent(violation);
+                if (indexed) indexCase(violation);
+                // After the update, so a report rendered meanwhile is not kept
+                reportCache.invalidate(violation.getRecordID());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void initializeSampleData() {
+        try {
+            Student student1 = new Student("20230001", "John Smith", "john.smith@university.edu", "Computer Science");
+            Student student2 = new Student("20230002", "Mary Davis", "mary.davis@university.edu", "Mathematics");
+            Student student3 = new Student("20230003", "Alex Chen", "alex.chen@university.edu", "Engineering");
+
+            PlagiarismViolation plagCase = new PlagiarismViolation(
+                    student1, "Plagiarism",
+                    java.time.LocalDate.of(2024, 3, 15), "Dr. Johnson", 3,
+                    "Under Investigation", "Grade Reduction",
+                    "Student submitted essay with 75% similarity to online source",
+                    0, "Turnitin report, original source documentation",
+                    "Wikipedia and academic papers", 75.3
+            );
+
+            CheatingViolation cheatCase = new CheatingViolation(
+                    student2, "Cheating",
+                    java.time.LocalDate.of(2024, 3, 20), "Prof. Wilson", 4,
+                    "Resolved", "Suspension",
+                    "Student used unauthorized notes during exam",
+                    0, "Security camera footage, confiscated notes",
+                    "Hidden notes under desk", "Cheat sheets, smartphone"
+            );
+
+            CollusionViolation collusionCase = new CollusionViolation(
+                    student3, "Collusion",
+                    java.time.LocalDate.of(2024, 3, 25), "Dr. Brown", 2,
+                    "Pending", "Warning",
+                    "Multiple students submitted identical lab reports",
+                    0, "Identical code submissions, similar formatting",
+                    "Alex Chen, Sarah Kim, Mike Thompson",
+                    "Shared lab report with identical results and formatting"
+            );
+
+            addCase(plagCase);
+            addCase(cheatCase);
+            addCase(collusionCase);
+
+            System.out.println("✅ Sample data initialized successfully.");
+        } catch (InvalidViolationException e) {
+            System.out.println("❌ Error initializing sample data: " + e.getMessage());
+        }
+    }
+
+    public void addCase(Violation violation) throws InvalidViolationException {
+        validate(violation);
+        lock.writeLock().lock();
+        try {
+            materializeLocked();
+            insertCase(violation);
+            if (DataPersistenceManager.isJournalEnabled()) queueJournal(DataPersistenceManager.putRecord(violation));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reportCache.invalidate(violation.getRecordID());
+        persistChanges();
+    }
+
+    /**
+     * Add a collection of cases in one step. Valid cases get consecutive
+     * record IDs and are indexed under a single write lock; invalid ones are
+     * reported per row without stopping the rest. The store is persisted
+     * once for the whole batch.
+     * @param violations The cases to add, in intake order
+     * @return the added cases and the rejected rows
+     */
+    public BatchResult addCases(Collection<? extends Violation> violations) {
+        BatchResult result = new BatchResult();
+        List<Violation> accepted = new ArrayList<>(violations.size());
+        int row = 0;
+        for (Violation violation : violations) {
+            try {
+                validate(violation);
+                accepted.add(violation);
+            } catch (InvalidViolationException e) {
+                result.recordFailure(row, e);
+            }
+            row++;
+        }
+        if (accepted.isEmpty()) return result;
+
+        lock.writeLock().lock();
+        try {
+            materializeLocked();
+            boolean journaled = DataPersistenceManager.isJournalEnabled();
+            for (Violation violation : accepted) {
+                insertCase(violation);
+                if (journaled) queueJournal(DataPersistenceManager.putRecord(violation));
+                result.recordAdded(violation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (Violation violation : accepted) {
+            reportCache.invalidate(violation.getRecordID());
+        }
+        persistChanges();
+        return result;
+    }
+
+    // Caller holds the write lock
+    private void insertCase(Violation violation) {
+        violation.setRecordID(nextCaseId.getAndIncrement());
+        cases.add(violation);
+        recordIndex.put(violation.getRecordID(), violation);
+        adoptStudent(violation);
+        indexCase(violation);
+        violation.setListener(this);
+    }
+
+    private static void validate(Violation violation) throws InvalidViolationException {
+        if (violation == null) throw new InvalidViolationException("Violation cannot be null");
+        Student student = violation.getStudent();
+        if (student == null || student.getStudentID() == null || student.getStudentID().isBlank()) {
+            throw new InvalidViolationException("Violation has no student enrollment number");
+        }
+        if (violation.getIncidentDate() == null) {
+            throw new InvalidViolationException("Violation has no incident date");
+        }
+        ValidationError gravityError = ValidationEngine.checkGravityLevel(violation.getGravityLevel());
+        if (gravityError != null) {
+            throw new InvalidViolationException("Gravity level " + violation.getGravityLevel() + ": "
+                    + gravityError.getMessage());
+        }
+    }
+
+    public Violation searchCase(int recordID) {
+        Violation violation;
+        lock.readLock().lock();
+        try {
+            violation = recordIndex.get(recordID);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (violation != null || archive == null) return violation;
+
+        // Decoding caches into recordIndex, so it needs the write lock
+        lock.writeLock().lock();
+        try {
+            violation = recordIndex.get(recordID);
+            if (violation == null && archive != null) {
+                try {
+                    violation = archive.load(recordID);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error reading mapped case store", e);
+                }
+                if (violation != null) {
+                    // Keep the decoded instance so later edits and lookups share it
+                    recordIndex.put(recordID, violation);
+                    canonicalizeStudent(violation);
+                    violation.setListener(this);
+                }
+            }
+            return violation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Violation> searchByStudent(String enrollmentNumber) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            List<Violation> studentCases = studentIndex.get(enrollmentNumber);
+            return studentCases == null ? new ArrayList<>() : new ArrayList<>(studentCases);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void removeCase(int recordID) {
+        lock.writeLock().lock();
+        try {
+            materializeLocked();
+            Violation removed = recordIndex.remove(recordID);
+            reportCache.invalidate(recordID);
+            if (removed != null) {
+                cases.remove(removed);
+                unindexCase(removed);
+                if (textIndex != null) textIndex.remove(recordID);
+                removed.setListener(null);
+                if (DataPersistenceManager.isJournalEnabled()) queueJournal(DataPersistenceManager.removalRecord(recordID));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        persistChanges();
+    }
+
+    /**
+     * Look up the shared record for a student
+     * @param studentID The enrollment number
+     * @return the student, or null if no case references that enrollment number
+     */
+    public Student findStudent(String studentID) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return studentRegistry.get(studentID);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find students with at least one case by partial enrollment number or
+     * approximate name, tolerating typos
+     * @param query An enrollment-number prefix, or all or part of a name
+     * @param limit Maximum number of matches
+     * @return the best matches, best first
+     */
+    public List<StudentSearchIndex.Match> findStudents(String query, int limit) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return studentRegistry.search(query, limit, s -> studentIndex.containsKey(s.getStudentID()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Everyone linked to a student through collusion cases, directly or via
+     * other members
+     * @param student An enrollment number or full name
+     * @return the student's group, or null if no collusion case involves them
+     */
+    public CollusionRing findCollusionRing(String student) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return collusionGraph.ringOf(student);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The largest groups of students linked through collusion cases
+     * @param from Only count cases from this date, or null for no lower bound
+     * @param to Only count cases up to this date, or null for no upper bound
+     * @param limit Maximum number of rings
+     * @return rings of at least CollusionGraph.MIN_RING_SIZE students, largest first
+     */
+    public List<CollusionRing> largestCollusionRings(LocalDate from, LocalDate to, int limit) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return collusionGraph.largestRings(from, to, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTypeCount(MisconductType type) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return statistics.getTypeCount(type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getStatusCount(CaseStatus status) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return statistics.getStatusCount(status);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getGravityCount(int gravity) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return statistics.getGravityCount(gravity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of students with at least one case
+     */
+    public int getStudentCount() {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return statistics.getStudentCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students with the most cases, read from the running statistics
+     * without scanning the store
+     * @param limit Maximum number of students to return
+     * @return the students and their case counts, most cases first
+     */
+    public List<CaseStatistics.StudentCaseCount> getTopOffenders(int limit) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return statistics.getTopOffenders(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public StudentRegistry getStudentRegistry() {
+        materializeAll();
+        return studentRegistry;
+    }
+
+    public List<Violation> getAllCases() {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(cases);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Record ID order needs no sorted index, so an unfiltered listing is read
+    // straight from the mapped store, decoding only the cases on the page
+    private CasePage getMappedPage(MappedCaseStore store, int[] ids, int start, int pageNumber, int pageSize,
+                                   boolean descending) {
+        List<Violation> pageCases = new ArrayList<>(pageSize);
+        try {
+            for (int i = start; i < Math.min(ids.length, start + pageSize); i++) {
+                pageCases.add(loadMapped(store, ids[descending ? ids.length - 1 - i : i]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading mapped case store", e);
+        }
+        return new CasePage(pageCases, pageNumber, pageSize, ids.length);
+    }
+
+    // The instance already looked up, if any, so edits and lookups share it
+    private Violation loadMapped(MappedCaseStore store, int recordID) throws IOException {
+        Violation cached;
+        lock.readLock().lock();
+        try {
+            cached = recordIndex.get(recordID);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return cached != null ? cached : store.load(recordID);
+    }
+
+    /**
+     * Visit every case in record ID order. Unlike getAllCases this does not
+     * pull a mapped store onto the heap; cases are decoded one at a time.
+     * @param action Called once per case
+     */
+    public void forEachCase(Consumer<Violation> action) {
+        MappedCaseStore store = archive;
+        if (store == null) {
+            // Iterate a snapshot so the action runs without holding the lock
+            getAllCases().forEach(action);
+            return;
+        }
+        try {
+            for (int id : store.recordIDs()) {
+                action.accept(loadMapped(store, id));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading mapped case store", e);
+        }
+    }
+
+    public int getTotalCases() {
+        MappedCaseStore store = archive;
+        if (store != null) return store.size();
+        lock.readLock().lock();
+        try {
+            return cases.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of the cases in the given order. Pages are read from sorted
+     * indexes by skipping the pages before them, so page k costs k times the
+     * page size; a filter has to scan the whole order to count its matches.
+     * An unfiltered page in record ID order leaves a mapped store mapped and
+     * decodes only its own cases; other listings decode the whole store.
+     * To step through a listing, getCasePageAfter and getCasePageBefore
+     * resume from the page on screen instead.
+     * @param pageNumber Page to return, starting at 1; past the end gives the last page
+     * @param pageSize Cases per page
+     * @param sortKey Listing order
+     * @param descending Whether to reverse the order
+     * @param filter Cases to include, or null for all
+     * @return the requested page
+     */
+    public CasePage getCasePage(int pageNumber, int pageSize, CaseSortKey sortKey, boolean descending,
+                                Predicate<? super Violation> filter) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        MappedCaseStore store = archive;
+        if (store != null && sortKey == CaseSortKey.ID && filter == null) {
+            int[] ids = store.recordIDs();
+            int lastPage = Math.max(1, (ids.length + pageSize - 1) / pageSize);
+            int page = Math.min(Math.max(1, pageNumber), lastPage);
+            return getMappedPage(store, ids, (page - 1) * pageSize, page, pageSize, descending);
+        }
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            NavigableSet<Violation> sorted = sortedIndexes.get(sortKey);
+            if (descending) sorted = sorted.descendingSet();
+
+            int totalMatches;
+            if (filter == null) {
+                totalMatches = sorted.size();
+            } else {
+                totalMatches = 0;
+                for (Violation v : sorted) {
+                    if (filter.test(v)) totalMatches++;
+                }
+            }
+            int lastPage = Math.max(1, (totalMatches + pageSize - 1) / pageSize);
+            int page = Math.min(Math.max(1, pageNumber), lastPage);
+
+            long skip = (long) (page - 1) * pageSize;
+            List<Violation> pageCases = new ArrayList<>(pageSize);
+            Iterator<Violation> it = sorted.iterator();
+            while (it.hasNext() && pageCases.size() < pageSize) {
+                Violation v = it.next();
+                if (filter != null && !filter.test(v)) continue;
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    pageCases.add(v);
+                }
+            }
+            return new CasePage(pageCases, page, pageSize, totalMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The page following the one that ended with lastSeen. It is read from
+     * the sorted index starting just after lastSeen, so it costs the page
+     * size however deep into the listing it is (plus the count of matches
+     * when filtered). Cases added or changed meanwhile appear where they now
+     * sort rather than shifting later pages; if nothing follows lastSeen any
+     * more, the last page is returned.
+     * @param lastSeen Last case of the page on screen; may since have been removed
+     * @param pageNumber Number of the page to return, starting at 1
+     * @param pageSize Cases per page
+     * @param sortKey Listing order
+     * @param descending Whether to reverse the order
+     * @param filter Cases to include, or null for all
+     * @return the next page
+     */
+    public CasePage getCasePageAfter(Violation lastSeen, int pageNumber, int pageSize, CaseSortKey sortKey,
+                                     boolean descending, Predicate<? super Violation> filter) {
+        CasePage page = getCasePageFrom(lastSeen, false, pageNumber, pageSize, sortKey, descending, filter);
+        return page != null ? page : getCasePage(Integer.MAX_VALUE, pageSize, sortKey, descending, filter);
+    }
+
+    /**
+     * The page preceding the one that started with firstSeen; the backward
+     * counterpart of getCasePageAfter. If fewer than a page of cases come
+     * before firstSeen, the first page is returned.
+     * @param firstSeen First case of the page on screen; may since have been removed
+     * @param pageNumber Number of the page to return, starting at 1
+     * @param pageSize Cases per page
+     * @param sortKey Listing order
+     * @param descending Whether to reverse the order
+     * @param filter Cases to include, or null for all
+     * @return the previous page
+     */
+    public CasePage getCasePageBefore(Violation firstSeen, int pageNumber, int pageSize, CaseSortKey sortKey,
+                                      boolean descending, Predicate<? super Violation> filter) {
+        CasePage page = getCasePageFrom(firstSeen, true, pageNumber, pageSize, sortKey, descending, filter);
+        return page != null ? page : getCasePage(1, pageSize, sortKey, descending, filter);
+    }
+
+    // A full page on one side of the cursor, or null when there is none
+    private CasePage getCasePageFrom(Violation cursor, boolean backward, int pageNumber, int pageSize,
+                                     CaseSortKey sortKey, boolean descending, Predicate<? super Violation> filter) {
+        if (pageSize < 1) throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        MappedCaseStore store = archive;
+        if (store != null && sortKey == CaseSortKey.ID && filter == null) {
+            int[] ids = store.recordIDs();
+            int found = Arrays.binarySearch(ids, cursor.getRecordID());
+            int firstNotBelow = found >= 0 ? found : -found - 1;
+            int firstAbove = found >= 0 ? found + 1 : firstNotBelow;
+            // Positions in listing order, which runs from the highest ID when descending
+            int start;
+            if (backward) {
+                start = (descending ? ids.length - firstAbove : firstNotBelow) - pageSize;
+                if (start < 0) return null;
+            } else {
+                start = descending ? ids.length - firstNotBelow : firstAbove;
+                if (start >= ids.length) return null;
+            }
+            int lastPage = Math.max(1, (ids.length + pageSize - 1) / pageSize);
+            return getMappedPage(store, ids, start, Math.min(Math.max(1, pageNumber), lastPage), pageSize, descending);
+        }
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            NavigableSet<Violation> sorted = sortedIndexes.get(sortKey);
+            if (descending) sorted = sorted.descendingSet();
+            NavigableSet<Violation> remaining = backward
+                    ? sorted.headSet(cursor, false).descendingSet()
+                    : sorted.tailSet(cursor, false);
+
+            List<Violation> pageCases = new ArrayList<>(pageSize);
+            Iterator<Violation> it = remaining.iterator();
+            while (it.hasNext() && pageCases.size() < pageSize) {
+                Violation v = it.next();
+                if (filter == null || filter.test(v)) pageCases.add(v);
+            }
+            if (pageCases.isEmpty() || (backward && pageCases.size() < pageSize)) return null;
+            if (backward) Collections.reverse(pageCases);
+
+            int totalMatches;
+            if (filter == null) {
+                totalMatches = sorted.size();
+            } else {
+                totalMatches = 0;
+                for (Violation v : sorted) {
+                    if (filter.test(v)) totalMatches++;
+                }
+            }
+            int lastPage = Math.max(1, (totalMatches + pageSize - 1) / pageSize);
+            return new CasePage(pageCases, Math.min(Math.max(1, pageNumber), lastPage), pageSize, totalMatches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cases whose incident date falls within [from, to], in date order
+     * @param from First day to include, or null for no lower bound
+     * @param to Last day to include, or null for no upper bound
+     */
+    public List<Violation> findByIncidentDate(LocalDate from, LocalDate to) {
+        return findByDate(incidentIndex, from, to);
+    }
+
+    /**
+     * Cases whose closure date falls within [from, to], in date order. A case
+     * loses its closure date when its status moves away from Closed.
+     * @param from First day to include, or null for no lower bound
+     * @param to Last day to include, or null for no upper bound
+     */
+    public List<Violation> findByClosureDate(LocalDate from, LocalDate to) {
+        return findByDate(closureIndex, from, to);
+    }
+
+    /**
+     * @return the cases closed in the last given number of days, today
+     * included: 7 means today and the six days before it
+     */
+    public List<Violation> findClosedWithinDays(int days) {
+        return findByClosureDate(LocalDate.now().minusDays(days - 1), null);
+    }
+
+    private List<Violation> findByDate(EpochDayIndex index, LocalDate from, LocalDate to) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return index.range(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank cases by how well their free text (descriptions, evidence and
+     * type-specific details) matches the given words, using BM25
+     * @param text Words to look for
+     * @param limit Maximum number of results
+     * @return the best matches, highest score first
+     */
+    public List<TextIndex.Hit> searchText(String text, int limit) {
+        materializeAll();
+        if (textIndex == null) {
+            // Read the saved index outside the lock; it is reconciled with the cases below
+            TextIndex loaded = DataPersistenceManager.loadTextIndex();
+            lock.writeLock().lock();
+            try {
+                if (textIndex == null) {
+                    TextIndex index = loaded != null ? loaded : new TextIndex();
+                    for (Violation v : cases) {
+                        index.put(v);
+                    }
+                    index.retainAll(recordIndex::containsKey);
+                    textIndex = index;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return textIndex.search(text, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the text index if it has changed since it was last written
+     * @return false if there was nothing to write
+     */
+    boolean writeTextIndex(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (textIndex == null || !textIndex.isDirty()) return false;
+            textIndex.write(out);
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the cases matching a query, in record ID order. The most selective
+     * index for the query's criteria supplies the candidates; when no index
+     * narrows them enough the store is scanned, in parallel for large stores.
+     * @param query The criteria
+     * @return the matching cases
+     */
+    public List<Violation> query(CaseQuery query) {
+        materializeAll();
+        List<Violation> snapshot;
+        QueryPlan plan;
+        lock.readLock().lock();
+        try {
+            plan = planQuery(query);
+            if (!plan.isFullScan()) {
+                QueryPlan.AccessPath path = plan.getChosenPath();
+                List<Violation> results = new ArrayList<>();
+                for (Violation v : path.source) {
+                    if (path.stop != null && path.stop.test(v)) break;
+                    if (query.matches(v)) results.add(v);
+                }
+                results.sort(CaseSortKey.ID.comparator());
+                return results;
+            }
+            snapshot = new ArrayList<>(cases);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Scan a snapshot outside the lock so writers are not held up
+        return (plan.isParallel() ? snapshot.parallelStream() : snapshot.stream())
+                .filter(query::matches)
+                .sorted(CaseSortKey.ID.comparator())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the plan query() would use for the given criteria right now
+     */
+    public QueryPlan explain(CaseQuery query) {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return planQuery(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock. Estimates are exact: they come from the
+    // running statistics and the date indexes.
+    private QueryPlan planQuery(CaseQuery query) {
+        int total = cases.size();
+        boolean parallel = total >= PARALLEL_SCAN_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+        List<QueryPlan.AccessPath> paths = new ArrayList<>();
+
+        if (query.getEnrollmentNumber() != null) {
+            List<Violation> studentCases = studentIndex.get(query.getEnrollmentNumber());
+            paths.add(new QueryPlan.AccessPath("student index on " + query.getEnrollmentNumber(),
+                    studentCases == null ? 0 : studentCases.size(), false,
+                    studentCases == null ? new ArrayList<>() : studentCases, null));
+        }
+        if (query.getStatuses() != null && !query.getStatuses().isEmpty()) {
+            paths.add(statusPath(query));
+        }
+        if (query.hasGravityBound()) {
+            paths.add(gravityPath(query));
+        }
+        if (query.hasIncidentBound()) {
+            paths.add(datePath("incident date", incidentIndex, query.getIncidentFrom(), query.getIncidentTo()));
+        }
+        if (query.hasClosureBound()) {
+            paths.add(datePath("closure date", closureIndex, query.getClosedFrom(), query.getClosedTo()));
+        }
+
+        QueryPlan.AccessPath best = null;
+        for (QueryPlan.AccessPath path : paths) {
+            if (best == null || path.estimatedRows < best.estimatedRows) best = path;
+        }
+        QueryPlan.AccessPath scan = new QueryPlan.AccessPath(parallel ? "parallel full scan" : "full scan",
+                total, false, null, null);
+        if (best == null || best.estimatedRows > total * INDEX_SELECTIVITY) {
+            best = scan;
+        } else {
+            paths.add(scan);
+        }
+        paths.remove(best);
+        return new QueryPlan(query, total, best, paths, parallel && best == scan);
+    }
+
+    // Statuses sort in workflow order with unknown labels last, so the
+    // selected statuses lie between the lowest and highest selected one;
+    // walk in from whichever end passes fewer cases.
+    private QueryPlan.AccessPath statusPath(CaseQuery query) {
+        CaseStatus[] statuses = CaseStatus.values();
+        int lowest = Integer.MAX_VALUE;
+        int highest = -1;
+        for (CaseStatus status : query.getStatuses()) {
+            lowest = Math.min(lowest, status.ordinal());
+            highest = Math.max(highest, status.ordinal());
+        }
+        int known = 0;
+        int fromStart = 0;
+        int fromEnd = 0;
+        for (CaseStatus status : statuses) {
+            int count = statistics.getStatusCount(status);
+            known += count;
+            if (status.ordinal() <= highest) fromStart += count;
+            if (status.ordinal() >= lowest) fromEnd += count;
+        }
+        fromEnd += statistics.getTotalCases() - known;
+
+        NavigableSet<Violation> byStatus = sortedIndexes.get(CaseSortKey.STATUS);
+        final int first = lowest;
+        final int last = highest;
+        if (fromStart <= fromEnd) {
+            return new QueryPlan.AccessPath("status index, ascending to " + statuses[last], fromStart, false,
+                    byStatus, v -> v.getStatusCode() == null || v.getStatusCode().ordinal() > last);
+        }
+        return new QueryPlan.AccessPath("status index, descending to " + statuses[first], fromEnd, false,
+                byStatus.descendingSet(), v -> v.getStatusCode() != null && v.getStatusCode().ordinal() < first);
+    }
+
+    private QueryPlan.AccessPath gravityPath(CaseQuery query) {
+        int min = query.getMinGravity();
+        int max = query.getMaxGravity();
+        int[] fromStart = {0};
+        int[] fromEnd = {0};
+        statistics.forEachGravityCount((gravity, count) -> {
+            if (gravity <= max) fromStart[0] += count;
+            if (gravity >= min) fromEnd[0] += count;
+        });
+        NavigableSet<Violation> byGravity = sortedIndexes.get(CaseSortKey.GRAVITY);
+        if (fromStart[0] <= fromEnd[0]) {
+            return new QueryPlan.AccessPath("gravity index, ascending to " + max, fromStart[0], false,
+                    byGravity, v -> v.getGravityLevel() > max);
+        }
+        return new QueryPlan.AccessPath("gravity index, descending to " + min, fromEnd[0], false,
+                byGravity.descendingSet(), v -> v.getGravityLevel() < min);
+    }
+
+    private QueryPlan.AccessPath datePath(String name, EpochDayIndex index, LocalDate from, LocalDate to) {
+        return new QueryPlan.AccessPath(name + " index, " + (from == null ? "start" : from) + " to "
+                + (to == null ? "end" : to), index.count(from, to), false,
+                () -> index.range(from, to).iterator(), null);
+    }
+
+    /**
+     * Print one page of the case summary table
+     * @param pageNumber Page to print, starting at 1
+     * @param pageSize Cases per page
+     * @param sortKey Listing order
+     * @return the page that was printed
+     */
+    public CasePage listCases(int pageNumber, int pageSize, CaseSortKey sortKey) {
+        CasePage page = getCasePage(pageNumber, pageSize, sortKey, false, null);
+        printCaseSummary(page, sortKey);
+        return page;
+    }
+
+    /**
+     * Print a page of the case summary table
+     * @param page Page to print
+     * @param sortKey Order the page was listed in
+     */
+    public void printCaseSummary(CasePage page, CaseSortKey sortKey) {
+        if (page.isEmpty()) {
+            System.out.println("No cases in the system.");
+            return;
+        }
+
+        System.out.println("\n==================================================");
+        System.out.println("               ALL CASES SUMMARY                  ");
+        System.out.println("==================================================");
+        System.out.printf("%-8s | %-20s | %-15s | %-12s | %s\n",
+                "Case ID", "Student", "Type", "Status", "Gravity");
+        System.out.println("--------------------------------------------------");
+
+        for (Violation v : page.getCases()) {
+            System.out.printf("%-8d | %-20s | %-15s | %-12s | %d/5\n",
+                    v.getRecordID(),
+                    truncateString(v.getFullName(), 20),
+                    truncateString(v.getMisconductType(), 15),
+                    truncateString(v.getCurrentStatus(), 12),
+                    v.getGravityLevel());
+        }
+
+        System.out.println("==================================================");
+        System.out.printf("Page %d of %d (%d cases, sorted by %s)\n",
+                page.getPageNumber(), page.getTotalPages(), page.getTotalMatches(), sortKey.getLabel());
+    }
+
+    public String generateSummaryReport() {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            return buildSummaryReport();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String buildSummaryReport() {
+        if (cases.isEmpty()) {
+            return "No cases available for summary report.";
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append("\n==================================================\n");
+        report.append("              SUMMARY REPORT                     \n");
+        report.append("==================================================\n");
+        report.append("Total Cases: ").append(cases.size()).append("\n");
+
+        // Cases by type
+        report.append("\n--- Cases by Type ---\n");
+        statistics.forEachTypeCount((type, count) -> report.append(String.format("%-20s: %d\n", type, count)));
+
+        // Cases by status
+        report.append("\n--- Cases by Status ---\n");
+        statistics.forEachStatusCount((status, count) -> report.append(String.format("%-20s: %d\n", status, count)));
+
+        // Cases by gravity
+        report.append("\n--- Cases by Gravity Level ---\n");
+        statistics.forEachGravityCount((gravity, count) -> report.append(String.format("Level %-15d: %d\n", gravity, count)));
+
+        report.append("==================================================\n");
+        return report.toString();
+    }
+
+    public void saveData() {
+        saveData(DataPersistenceManager.SaveMode.AUTO);
+    }
+
+    /**
+     * Save the store
+     * @param mode AUTO after a mutation, MANUAL for a user-requested save that
+     *             also refreshes the text export, EXPORT_ONLY for the export alone
+     * @return true if the save succeeded
+     */
+    public boolean saveData(DataPersistenceManager.SaveMode mode) {
+        // Route through the writer so pending background changes count as written
+        WriteBehindPersister persister = writeBehind;
+        if (persister != null) return persister.flush(mode);
+        return DataPersistenceManager.saveData(this, mode);
+    }
+
+    /**
+     * Persist a change to a single case. In journal mode only that case is
+     * appended to the log; otherwise the whole store is rewritten, either
+     * immediately or by the write-behind thread. A case removed in the
+     * meantime is not journaled, so a late call cannot bring it back.
+     * @param violation The case that was added or modified
+     */
+    public void persistCase(Violation violation) {
+        // Not every edit goes through a listener-firing setter
+        reportCache.invalidate(violation.getRecordID());
+        if (DataPersistenceManager.isJournalEnabled()) {
+            // The read lock keeps setters out while the case is encoded
+            lock.readLock().lock();
+            try {
+                if (recordIndex.get(violation.getRecordID()) == violation) {
+                    queueJournal(DataPersistenceManager.putRecord(violation));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        persistChanges();
+    }
+
+    // Caller holds the lock, so the queue order is the order of the changes
+    private void queueJournal(DataPersistenceManager.JournalRecord record) {
+        synchronized (pendingJournal) {
+            pendingJournal.add(record);
+        }
+    }
+
+    // Write out the changes just made; called after the lock is released
+    private void persistChanges() {
+        if (!DataPersistenceManager.isJournalEnabled()) {
+            scheduleSave();
+            return;
+        }
+        synchronized (journalAppendLock) {
+            List<DataPersistenceManager.JournalRecord> records;
+            synchronized (pendingJournal) {
+                if (pendingJournal.isEmpty()) return;
+                records = new ArrayList<>(pendingJournal);
+                pendingJournal.clear();
+            }
+            DataPersistenceManager.appendToJournal(this, records);
+        }
+    }
+
+    // Full snapshot after a change: immediate, or deferred to the background writer
+    private void scheduleSave() {
+        if (!DataPersistenceManager.isWriteBehindEnabled()) {
+            saveData(DataPersistenceManager.SaveMode.AUTO);
+            return;
+        }
+        WriteBehindPersister persister;
+        synchronized (this) {
+            if (writeBehind == null) {
+                writeBehind = new WriteBehindPersister(this,
+                        DataPersistenceManager.getWriteBehindIntervalMillis(),
+                        DataPersistenceManager.getWriteBehindMaxDirty());
+            }
+            persister = writeBehind;
+        }
+        persister.markDirty();
+    }
+
+    /**
+     * @return the background writer, or null if write-behind has not been used
+     */
+    public WriteBehindPersister getWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Flush anything the persistence layer still buffers before the application exits
+     */
+    public void shutdown() {
+        WriteBehindPersister persister;
+        synchronized (this) {
+            persister = writeBehind;
+            writeBehind = null;
+        }
+        if (persister != null) {
+            persister.shutdown();
+            System.out.println("Write-behind: " + persister.getFlushCount() + " snapshot writes, "
+                    + persister.getCoalescedWrites() + " coalesced.");
+        }
+        // Journal mode does not rewrite the index on every change
+        DataPersistenceManager.saveTextIndex(this);
+        try {
+            DataPersistenceManager.closeJournal();
+        } catch (java.io.IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+    }
+
+    ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    int getNextCaseId() {
+        return nextCaseId.get();
+    }
+
+    /**
+     * Apply changes replayed from the journal in one pass over the case list.
+     * @param changes Latest state per record ID, in journal order; a null value marks a removal
+     */
+    void applyJournalChanges(Map<Integer, Violation> changes) {
+        if (changes.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            mergeJournalChanges(changes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void mergeJournalChanges(Map<Integer, Violation> changes) {
+        Map<Integer, Violation> pending = new java.util.LinkedHashMap<>(changes);
+        List<Violation> merged = new ArrayList<>(cases.size() + pending.size());
+        for (Violation v : cases) {
+            if (pending.containsKey(v.getRecordID())) {
+                Violation replacement = pending.remove(v.getRecordID());
+                if (replacement != null) merged.add(replacement);
+            } else {
+                merged.add(v);
+            }
+        }
+        int maxId = nextCaseId.get() - 1;
+        for (Violation added : pending.values()) {
+            if (added != null) merged.add(added);
+        }
+        for (Integer id : changes.keySet()) {
+            maxId = Math.max(maxId, id);
+        }
+        cases = merged;
+        nextCaseId.set(maxId + 1);
+        // Journal records carry the latest student details, so they take precedence
+        studentRegistry = new StudentRegistry();
+        for (Violation changed : changes.values()) {
+            if (changed != null) studentRegistry.register(changed.getStudent());
+        }
+        rebuildIndexes();
+    }
+
+    /**
+     * Compare every secondary index and the running statistics with the
+     * case list. Used by CaseManagerStressTest.
+     * @return a description of each mismatch; empty when everything agrees
+     */
+    List<String> checkIndexes() {
+        materializeAll();
+        lock.readLock().lock();
+        try {
+            List<String> problems = new ArrayList<>();
+            if (recordIndex.size() != cases.size()) {
+                problems.add("recordIndex has " + recordIndex.size() + " cases, list has " + cases.size());
+            }
+            Map<String, List<Violation>> expectedByStudent = new HashMap<>();
+            CaseStatistics expectedStatistics = new CaseStatistics();
+            int dated = 0;
+            int closed = 0;
+            for (Violation v : cases) {
+                if (recordIndex.get(v.getRecordID()) != v) problems.add("recordIndex misses case " + v.getRecordID());
+                expectedByStudent.computeIfAbsent(v.getEnrollmentNumber(), k -> new ArrayList<>()).add(v);
+                expectedStatistics.add(v);
+                for (Map.Entry<CaseSortKey, NavigableSet<Violation>> sorted : sortedIndexes.entrySet()) {
+                    if (!sorted.getValue().contains(v)) {
+                        problems.add(sorted.getKey() + " index misses case " + v.getRecordID());
+                    }
+                }
+                if (v.getIncidentDate() != null) {
+                    dated++;
+                    if (!incidentIndex.range(v.getIncidentDate(), v.getIncidentDate()).contains(v)) {
+                        problems.add("incident index misses case " + v.getRecordID());
+                    }
+                }
+                if (v.getClosureDate() != null) {
+                    closed++;
+                    if (!closureIndex.range(v.getClosureDate(), v.getClosureDate()).contains(v)) {
+                        problems.add("closure index misses case " + v.getRecordID());
+                    }
+                }
+            }
+            for (List<Violation> studentCases : expectedByStudent.values()) {
+                studentCases.sort(CaseSortKey.ID.comparator());
+            }
+            if (!expectedByStudent.equals(studentIndex)) problems.add("studentIndex differs from the case list");
+            for (Map.Entry<CaseSortKey, NavigableSet<Violation>> sorted : sortedIndexes.entrySet()) {
+                if (sorted.getValue().size() != cases.size()) {
+                    problems.add(sorted.getKey() + " index has " + sorted.getValue().size() + " cases");
+                }
+            }
+            if (incidentIndex.size() != dated) problems.add("incident index has " + incidentIndex.size() + " cases");
+            if (closureIndex.size() != closed) problems.add("closure index has " + closureIndex.size() + " cases");
+
+            if (statistics.getTotalCases() != expectedStatistics.getTotalCases()
+                    || statistics.getStudentCount() != expectedStatistics.getStudentCount()) {
+                problems.add("statistics totals differ from the case list");
+            }
+            for (CaseStatus status : CaseStatus.values()) {
+                if (statistics.getStatusCount(status) != expectedStatistics.getStatusCount(status)) {
+                    problems.add("statistics count " + status + " wrongly");
+                }
+            }
+            for (int gravity = 0; gravity <= CaseStatistics.MAX_GRAVITY; gravity++) {
+                if (statistics.getGravityCount(gravity) != expectedStatistics.getGravityCount(gravity)) {
+                    problems.add("statistics count gravity " + gravity + " wrongly");
+                }
+            }
+            return problems;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String truncateString(String str, int maxLength) {
+        if (str == null) return "";
+        if (str.length() <= maxLength) return str;
+        return str.substring(0, maxLength - 3) + "...";
+    }
+}
@@ -0,0 +1,326 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Multi-threaded stress test of CaseManager's locking.
+ *
+ * Writer threads add, update and remove cases while reader threads page,
+ * query and look up cases. In the first phase each writer owns the cases it
+ * adds and tracks the values it last set on them. Afterwards the test
+ * checks that:
+ * - record IDs were unique and contiguous;
+ * - every surviving case holds the values its writer last set (no lost updates);
+ * - the indexes and statistics match the case list (CaseManager.checkIndexes);
+ * - the journal reloads to the same cases.
+ *
+ * In the second phase the writers update and remove cases from one small
+ * shared set, so edits and removals of the same case race each other. The
+ * indexes and the journal reload are checked again: a case removed by one
+ * writer must not come back from another writer's late update.
+ *
+ * The store is journaled to a temporary directory, never the working one.
+ * Exits with status 1 on the first failed check.
+ *
+ * Usage: java CaseManagerStressTest [--writers N] [--readers N] [--operations N] [--seed N]
+ */
+public class CaseManagerStressTest {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final int STUDENTS = 50;
+    // Cases the writers of the second phase all work on
+    private static final int SHARED_CASES = 256;
+
+    private int writers = 8;
+    private int readers = 4;
+    private int operationsPerWriter = 2_000;
+    private long seed = 42;
+
+    private CaseManager caseManager;
+    private final ConcurrentLinkedQueue<Integer> assignedIDs = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    // Final state each writer expects of the cases it still owns
+    private final List<Map<Integer, Expected>> expectedByWriter = Collections.synchronizedList(new ArrayList<>());
+
+    // The values a writer last set on one of its cases
+    private static class Expected {
+        final Violation violation;
+        int gravity;
+        CaseStatus status;
+        LocalDate incidentDate;
+        String description;
+
+        Expected(Violation violation) {
+            this.violation = violation;
+            this.gravity = violation.getGravityLevel();
+            this.status = violation.getStatusCode();
+            this.incidentDate = violation.getIncidentDate();
+            this.description = violation.getIncidentDescription();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        CaseManagerStressTest test = new CaseManagerStressTest();
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+            switch (args[i]) {
+                case "--writers": test.writers = Integer.parseInt(value); break;
+                case "--readers": test.readers = Integer.parseInt(value); break;
+                case "--operations": test.operationsPerWriter = Integer.parseInt(value); break;
+                case "--seed": test.seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+
+        Path directory = Files.createTempDirectory("aivt-stress");
+        DataPersistenceManager.setDataDirectory(directory);
+        DataPersistenceManager.setJournalEnabled(true);
+        DataPersistenceManager.setFsyncPolicy(DataPersistenceManager.FsyncPolicy.NEVER);
+        DataPersistenceManager.setCompactAfterRecords(Integer.MAX_VALUE);
+        try {
+            test.run();
+        } finally {
+            DataPersistenceManager.closeJournal();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+            DataPersistenceManager.setDataDirectory(Paths.get(""));
+        }
+    }
+
+    private void run() throws Exception {
+        caseManager = new CaseManager(new ArrayList<>(), 1000);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writerThreads = new ArrayList<>();
+        List<Thread> readerThreads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Map<Integer, Expected> owned = new HashMap<>();
+            expectedByWriter.add(owned);
+            Random random = new Random(seed + w);
+            writerThreads.add(thread("writer-" + w, start, () -> write(random, owned)));
+        }
+        for (int r = 0; r < readers; r++) {
+            Random random = new Random(seed - r - 1);
+            readerThreads.add(thread("reader-" + r, start, () -> {
+                while (writing.get()) read(random);
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread writer : writerThreads) writer.join();
+        writing.set(false);
+        for (Thread reader : readerThreads) reader.join();
+        System.out.printf("%d writers x %d operations with %d readers in %.0f ms%n",
+                writers, operationsPerWriter, readers, (System.nanoTime() - began) / 1e6);
+
+        check(failures.isEmpty(), "no thread failed", failures.peek());
+        checkRecordIDs();
+        checkNoLostUpdates();
+        List<String> problems = caseManager.checkIndexes();
+        check(problems.isEmpty(), "indexes and statistics match the cases", String.join("; ", problems));
+        checkReload();
+
+        runSharedPhase();
+        System.out.println("All checks passed.");
+    }
+
+    // Writers race on the same cases: one edits a case while another removes it
+    private void runSharedPhase() throws Exception {
+        List<Violation> all = caseManager.getAllCases();
+        List<Integer> shared = new ArrayList<>();
+        for (int i = 0; i < Math.min(SHARED_CASES, all.size()); i++) {
+            shared.add(all.get(i).getRecordID());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writerThreads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            Random random = new Random(seed * 31 + w);
+            writerThreads.add(thread("shared-writer-" + w, start, () -> writeShared(random, shared)));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread writer : writerThreads) writer.join();
+        System.out.printf("%d writers sharing %d cases in %.0f ms%n",
+                writers, shared.size(), (System.nanoTime() - began) / 1e6);
+
+        check(failures.isEmpty(), "no thread failed", failures.peek());
+        List<String> problems = caseManager.checkIndexes();
+        check(problems.isEmpty(), "indexes and statistics match the cases after shared writes",
+                String.join("; ", problems));
+        checkReload();
+    }
+
+    private void writeShared(Random random, List<Integer> shared) {
+        for (int op = 0; op < operationsPerWriter / 2; op++) {
+            int id = shared.get(random.nextInt(shared.size()));
+            if (random.nextInt(50) == 0) {
+                caseManager.removeCase(id);
+                continue;
+            }
+            Violation v = caseManager.searchCase(id);
+            if (v == null) continue;
+            if (random.nextBoolean()) {
+                v.setGravityLevel(1 + random.nextInt(5));
+            } else {
+                v.setIncidentDescription("shared " + random.nextInt(1_000_000));
+            }
+            caseManager.persistCase(v);
+        }
+    }
+
+    private Thread thread(String name, CountDownLatch start, Runnable body) {
+        Thread thread = new Thread(() -> {
+            try {
+                start.await();
+                body.run();
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        }, name);
+        thread.start();
+        return thread;
+    }
+
+    private void write(Random random, Map<Integer, Expected> owned) {
+        List<Integer> ownedIDs = new ArrayList<>();
+        for (int op = 0; op < operationsPerWriter; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4 || ownedIDs.isEmpty()) {
+                Violation v = newCase(random);
+                try {
+                    caseManager.addCase(v);
+                } catch (InvalidViolationException e) {
+                    throw new IllegalStateException(e);
+                }
+                assignedIDs.add(v.getRecordID());
+                owned.put(v.getRecordID(), new Expected(v));
+                ownedIDs.add(v.getRecordID());
+            } else if (choice < 5) {
+                int id = ownedIDs.remove(random.nextInt(ownedIDs.size()));
+                owned.remove(id);
+                caseManager.removeCase(id);
+            } else {
+                Expected expected = owned.get(ownedIDs.get(random.nextInt(ownedIDs.size())));
+                Violation v = expected.violation;
+                switch (choice) {
+                    case 5:
+                        expected.gravity = 1 + random.nextInt(5);
+                        v.setGravityLevel(expected.gravity);
+                        break;
+                    case 6:
+                        expected.status = CaseStatus.values()[random.nextInt(CaseStatus.values().length)];
+                        v.setCurrentStatus(expected.status.getLabel());
+                        break;
+                    case 7:
+                        expected.incidentDate = FIRST_DATE.plusDays(random.nextInt(365));
+                        v.setIncidentDate(expected.incidentDate);
+                        break;
+                    default:
+                        expected.description = "updated " + random.nextInt(1_000_000);
+                        v.setIncidentDescription(expected.description);
+                }
+                caseManager.persistCase(v);
+            }
+        }
+    }
+
+    private void read(Random random) {
+        CaseSortKey key = CaseSortKey.values()[random.nextInt(CaseSortKey.values().length)];
+        CasePage page = caseManager.getCasePage(1 + random.nextInt(5), 20, key, random.nextBoolean(), null);
+        if (page.getCases().size() > 20) throw new IllegalStateException("Page larger than its size");
+        caseManager.query(CaseQuery.parse("gravity>=3 status=open"));
+        caseManager.searchByStudent(enrollmentNumber(random.nextInt(STUDENTS)));
+        if (caseManager.getTopOffenders(5).size() > caseManager.getStudentCount()) {
+            throw new IllegalStateException("More top offenders than students");
+        }
+    }
+
+    private static Violation newCase(Random random) {
+        int rank = random.nextInt(STUDENTS);
+        Student student = new Student(enrollmentNumber(rank), "Student " + rank,
+                "student" + rank + "@university.edu", "Computer Science");
+        return new CheatingViolation(student, "Cheating", FIRST_DATE.plusDays(random.nextInt(365)),
+                "Dr. Stress", 1 + random.nextInt(5), "Pending", "None", "initial", 0, "none",
+                "Notes", "Phone");
+    }
+
+    private static String enrollmentNumber(int rank) {
+        return String.format("%08d", 30_000_000 + rank);
+    }
+
+    private void checkRecordIDs() {
+        List<Integer> ids = new ArrayList<>(assignedIDs);
+        Collections.sort(ids);
+        boolean contiguous = true;
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) != 1000 + i) {
+                contiguous = false;
+                break;
+            }
+        }
+        check(contiguous, ids.size() + " record IDs unique and contiguous", ids);
+    }
+
+    private void checkNoLostUpdates() {
+        int survivors = 0;
+        List<String> lost = new ArrayList<>();
+        for (Map<Integer, Expected> owned : expectedByWriter) {
+            for (Expected expected : owned.values()) {
+                survivors++;
+                Violation v = caseManager.searchCase(expected.violation.getRecordID());
+                if (v != expected.violation || v.getGravityLevel() != expected.gravity
+                        || v.getStatusCode() != expected.status || !v.getIncidentDate().equals(expected.incidentDate)
+                        || !v.getIncidentDescription().equals(expected.description)) {
+                    lost.add("case " + expected.violation.getRecordID());
+                }
+            }
+        }
+        check(caseManager.getTotalCases() == survivors, survivors + " cases survive",
+                caseManager.getTotalCases() + " in the store");
+        check(lost.isEmpty(), "no updates lost", lost);
+    }
+
+    private void checkReload() throws IOException {
+        DataPersistenceManager.closeJournal();
+        CaseManager reloaded = DataPersistenceManager.loadData();
+        List<String> differences = new ArrayList<>();
+        if (reloaded == null || reloaded.getTotalCases() != caseManager.getTotalCases()) {
+            differences.add("case count");
+        } else {
+            for (Violation v : caseManager.getAllCases()) {
+                Violation copy = reloaded.searchCase(v.getRecordID());
+                if (copy == null || !copy.generateReport().equals(v.generateReport())) {
+                    differences.add("case " + v.getRecordID());
+                }
+            }
+        }
+        check(differences.isEmpty(), "journal reloads the same cases", differences);
+    }
+
+    private static void check(boolean passed, String description, Object detail) {
+        if (passed) {
+            System.out.println("OK   " + description);
+            return;
+        }
+        System.out.println("FAIL " + description + ": " + detail);
+        if (detail instanceof Throwable) ((Throwable) detail).printStackTrace(System.out);
+        System.exit(1);
+    }
+}
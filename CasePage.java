@@ -0,0 +1,55 @@
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a sorted, optionally filtered case listing. Page numbers
+ * start at 1.
+ */
+public class CasePage {
+    private final List<Violation> cases;
+    private final int pageNumber;
+    private final int pageSize;
+    private final int totalMatches;
+
+    CasePage(List<Violation> cases, int pageNumber, int pageSize, int totalMatches) {
+        this.cases = Collections.unmodifiableList(cases);
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalMatches = totalMatches;
+    }
+
+    public List<Violation> getCases() {
+        return cases;
+    }
+
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return the number of cases in the whole listing, across all pages
+     */
+    public int getTotalMatches() {
+        return totalMatches;
+    }
+
+    public int getTotalPages() {
+        return Math.max(1, (totalMatches + pageSize - 1) / pageSize);
+    }
+
+    public boolean hasPrevious() {
+        return pageNumber > 1;
+    }
+
+    public boolean hasNext() {
+        return pageNumber < getTotalPages();
+    }
+
+    public boolean isEmpty() {
+        return cases.isEmpty();
+    }
+}
@@ -0,0 +1,432 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Criteria for finding cases, combined with AND. Unset criteria match
+ * everything. Build one fluently or parse the text form, e.g.
+ *
+ *   type="Code Plagiarism" status=open department="Computer Science" gravity>=4 incident>=-90d
+ *
+ * Terms are key, operator (=, >=, <=, >, <) and value. Values containing
+ * spaces are quoted, and type and status take comma-separated lists.
+ * Dates are yyyy-MM-dd or -Nd for the first of the last N days, today
+ * included: incident>=-90d matches incidentWithinDays(90) and -1d is
+ * today. Keys are type, status, department, faculty, student, gravity,
+ * incident, closed and similarity; status=open means Pending or Under
+ * Investigation.
+ *
+ * CaseManager.query picks an index for the most selective criterion and
+ * re-checks every criterion on each candidate with matches().
+ */
+public class CaseQuery {
+    private EnumSet<MisconductType> types;
+    private EnumSet<CaseStatus> statuses;
+    private String department;
+    private String faculty;
+    private String enrollmentNumber;
+    private int minGravity = Integer.MIN_VALUE;
+    private int maxGravity = Integer.MAX_VALUE;
+    private LocalDate incidentFrom;
+    private LocalDate incidentTo;
+    private LocalDate closedFrom;
+    private LocalDate closedTo;
+    private double minSimilarity = Double.NaN;
+    private double maxSimilarity = Double.NaN;
+
+    public CaseQuery type(MisconductType... types) {
+        this.types = EnumSet.noneOf(MisconductType.class);
+        for (MisconductType type : types) {
+            this.types.add(type);
+        }
+        return this;
+    }
+
+    public CaseQuery status(CaseStatus... statuses) {
+        this.statuses = EnumSet.noneOf(CaseStatus.class);
+        for (CaseStatus status : statuses) {
+            this.statuses.add(status);
+        }
+        return this;
+    }
+
+    /**
+     * Cases still being worked on: Pending or Under Investigation
+     */
+    public CaseQuery open() {
+        return status(CaseStatus.PENDING, CaseStatus.UNDER_INVESTIGATION);
+    }
+
+    /**
+     * @param department Student department, compared ignoring case
+     */
+    public CaseQuery department(String department) {
+        this.department = department;
+        return this;
+    }
+
+    /**
+     * @param faculty Reporting faculty member, compared ignoring case
+     */
+    public CaseQuery faculty(String faculty) {
+        this.faculty = faculty;
+        return this;
+    }
+
+    public CaseQuery student(String enrollmentNumber) {
+        this.enrollmentNumber = enrollmentNumber;
+        return this;
+    }
+
+    public CaseQuery gravityAtLeast(int gravity) {
+        this.minGravity = gravity;
+        return this;
+    }
+
+    public CaseQuery gravityAtMost(int gravity) {
+        this.maxGravity = gravity;
+        return this;
+    }
+
+    /**
+     * @param from First incident date to include, or null for no lower bound
+     * @param to Last incident date to include, or null for no upper bound
+     */
+    public CaseQuery incidentBetween(LocalDate from, LocalDate to) {
+        this.incidentFrom = from;
+        this.incidentTo = to;
+        return this;
+    }
+
+    /**
+     * Incidents in the last given number of days, today included: 7 means
+     * today and the six days before it
+     */
+    public CaseQuery incidentWithinDays(int days) {
+        return incidentBetween(LocalDate.now().minusDays(days - 1), null);
+    }
+
+    /**
+     * Only cases with a closure date match a closure bound
+     * @param from First closure date to include, or null for no lower bound
+     * @param to Last closure date to include, or null for no upper bound
+     */
+    public CaseQuery closedBetween(LocalDate from, LocalDate to) {
+        this.closedFrom = from;
+        this.closedTo = to;
+        return this;
+    }
+
+    /**
+     * Cases closed in the last given number of days, today included
+     */
+    public CaseQuery closedWithinDays(int days) {
+        return closedBetween(LocalDate.now().minusDays(days - 1), null);
+    }
+
+    /**
+     * Only plagiarism and code plagiarism cases carry a similarity, so any
+     * similarity bound excludes the other types.
+     */
+    public CaseQuery similarityAtLeast(double percentage) {
+        this.minSimilarity = percentage;
+        return this;
+    }
+
+    public CaseQuery similarityAtMost(double percentage) {
+        this.maxSimilarity = percentage;
+        return this;
+    }
+
+    EnumSet<MisconductType> getTypes() {
+        return types;
+    }
+
+    EnumSet<CaseStatus> getStatuses() {
+        return statuses;
+    }
+
+    String getEnrollmentNumber() {
+        return enrollmentNumber;
+    }
+
+    int getMinGravity() {
+        return minGravity;
+    }
+
+    int getMaxGravity() {
+        return maxGravity;
+    }
+
+    LocalDate getIncidentFrom() {
+        return incidentFrom;
+    }
+
+    LocalDate getIncidentTo() {
+        return incidentTo;
+    }
+
+    LocalDate getClosedFrom() {
+        return closedFrom;
+    }
+
+    LocalDate getClosedTo() {
+        return closedTo;
+    }
+
+    boolean hasGravityBound() {
+        return minGravity != Integer.MIN_VALUE || maxGravity != Integer.MAX_VALUE;
+    }
+
+    boolean hasIncidentBound() {
+        return incidentFrom != null || incidentTo != null;
+    }
+
+    boolean hasClosureBound() {
+        return closedFrom != null || closedTo != null;
+    }
+
+    /**
+     * @return whether the case meets every criterion
+     */
+    public boolean matches(Violation v) {
+        if (types != null && !types.contains(v.getMisconductTypeCode())) return false;
+        if (statuses != null && !statuses.contains(v.getStatusCode())) return false;
+        int gravity = v.getGravityLevel();
+        if (gravity < minGravity || gravity > maxGravity) return false;
+        if (hasIncidentBound() && !within(v.getIncidentDate(), incidentFrom, incidentTo)) return false;
+        if (hasClosureBound() && !within(v.getClosureDate(), closedFrom, closedTo)) return false;
+        if (enrollmentNumber != null && (v.getStudent() == null || !enrollmentNumber.equals(v.getEnrollmentNumber()))) {
+            return false;
+        }
+        if (department != null && (v.getStudent() == null || !department.equalsIgnoreCase(v.getDepartment()))) {
+            return false;
+        }
+        if (faculty != null && !faculty.equalsIgnoreCase(v.getReportingFaculty())) return false;
+        if (!Double.isNaN(minSimilarity) || !Double.isNaN(maxSimilarity)) {
+            double similarity = similarityOf(v);
+            if (Double.isNaN(similarity)) return false;
+            if (!Double.isNaN(minSimilarity) && similarity < minSimilarity) return false;
+            if (!Double.isNaN(maxSimilarity) && similarity > maxSimilarity) return false;
+        }
+        return true;
+    }
+
+    private static boolean within(LocalDate date, LocalDate from, LocalDate to) {
+        if (date == null) return false;
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    // NaN for case types that carry no similarity score
+    private static double similarityOf(Violation v) {
+        if (v instanceof PlagiarismViolation) return ((PlagiarismViolation) v).getSimilarityPercentage();
+        if (v instanceof CodePlagiarismViolation) return ((CodePlagiarismViolation) v).getSimilarityPercentage();
+        return Double.NaN;
+    }
+
+    /**
+     * Parse the text form described in the class comment
+     * @throws IllegalArgumentException naming the offending term
+     */
+    public static CaseQuery parse(String text) {
+        CaseQuery query = new CaseQuery();
+        int pos = 0;
+        int length = text.length();
+        while (true) {
+            while (pos < length && Character.isWhitespace(text.charAt(pos))) pos++;
+            if (pos >= length) return query;
+
+            int keyStart = pos;
+            while (pos < length && Character.isLetter(text.charAt(pos))) pos++;
+            String key = text.substring(keyStart, pos).toLowerCase(Locale.ROOT);
+            int opStart = pos;
+            while (pos < length && "<>=".indexOf(text.charAt(pos)) >= 0) pos++;
+            String op = text.substring(opStart, pos);
+            if (key.isEmpty() || op.isEmpty()) {
+                throw new IllegalArgumentException("Expected key and operator at: " + text.substring(keyStart));
+            }
+
+            String value;
+            if (pos < length && text.charAt(pos) == '"') {
+                int close = text.indexOf('"', pos + 1);
+                if (close < 0) throw new IllegalArgumentException("Unterminated quote in term: " + key);
+                value = text.substring(pos + 1, close);
+                pos = close + 1;
+            } else {
+                int valueStart = pos;
+                while (pos < length && !Character.isWhitespace(text.charAt(pos))) pos++;
+                value = text.substring(valueStart, pos);
+            }
+            if (value.isBlank()) throw new IllegalArgumentException("Missing value for: " + key);
+            query.applyTerm(key, op, value.trim());
+        }
+    }
+
+    private void applyTerm(String key, String op, String value) {
+        switch (key) {
+            case "type": {
+                requireEquals(key, op);
+                List<MisconductType> parsed = new ArrayList<>();
+                for (String label : value.split(",")) {
+                    MisconductType type = MisconductType.fromLabel(label);
+                    if (type == null) throw new IllegalArgumentException("Unknown misconduct type: " + label.trim());
+                    parsed.add(type);
+                }
+                type(parsed.toArray(new MisconductType[0]));
+                break;
+            }
+            case "status": {
+                requireEquals(key, op);
+                if (value.equalsIgnoreCase("open")) {
+                    open();
+                    break;
+                }
+                List<CaseStatus> parsed = new ArrayList<>();
+                for (String label : value.split(",")) {
+                    CaseStatus status = CaseStatus.fromLabel(label);
+                    if (status == null) throw new IllegalArgumentException("Unknown status: " + label.trim());
+                    parsed.add(status);
+                }
+                status(parsed.toArray(new CaseStatus[0]));
+                break;
+            }
+            case "department":
+                requireEquals(key, op);
+                department(value);
+                break;
+            case "faculty":
+                requireEquals(key, op);
+                faculty(value);
+                break;
+            case "student":
+                requireEquals(key, op);
+                student(value);
+                break;
+            case "gravity": {
+                int gravity = parseNumber(key, value, Integer::parseInt);
+                switch (op) {
+                    case "=": gravityAtLeast(gravity); gravityAtMost(gravity); break;
+                    case ">=": gravityAtLeast(gravity); break;
+                    case ">": gravityAtLeast(gravity + 1); break;
+                    case "<=": gravityAtMost(gravity); break;
+                    case "<": gravityAtMost(gravity - 1); break;
+                    default: throw unknownOperator(key, op);
+                }
+                break;
+            }
+            case "incident": {
+                LocalDate date = parseDate(key, value);
+                switch (op) {
+                    case "=": incidentFrom = date; incidentTo = date; break;
+                    case ">=": incidentFrom = date; break;
+                    case ">": incidentFrom = date.plusDays(1); break;
+                    case "<=": incidentTo = date; break;
+                    case "<": incidentTo = date.minusDays(1); break;
+                    default: throw unknownOperator(key, op);
+                }
+                break;
+            }
+            case "closed": {
+                LocalDate date = parseDate(key, value);
+                switch (op) {
+                    case "=": closedFrom = date; closedTo = date; break;
+                    case ">=": closedFrom = date; break;
+                    case ">": closedFrom = date.plusDays(1); break;
+                    case "<=": closedTo = date; break;
+                    case "<": closedTo = date.minusDays(1); break;
+                    default: throw unknownOperator(key, op);
+                }
+                break;
+            }
+            case "similarity": {
+                double similarity = parseNumber(key, value, Double::parseDouble);
+                switch (op) {
+                    case "=": minSimilarity = similarity; maxSimilarity = similarity; break;
+                    case ">=": minSimilarity = similarity; break;
+                    case ">": minSimilarity = Math.nextUp(similarity); break;
+                    case "<=": maxSimilarity = similarity; break;
+                    case "<": maxSimilarity = Math.nextDown(similarity); break;
+                    default: throw unknownOperator(key, op);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown query key: " + key);
+        }
+    }
+
+    private static void requireEquals(String key, String op) {
+        if (!op.equals("=")) throw unknownOperator(key, op);
+    }
+
+    private static IllegalArgumentException unknownOperator(String key, String op) {
+        return new IllegalArgumentException("Operator " + op + " is not supported for " + key);
+    }
+
+    private static <N> N parseNumber(String key, String value, Function<String, N> parser) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String key, String value) {
+        if (value.startsWith("-") && (value.endsWith("d") || value.endsWith("D"))) {
+            int days = parseNumber(key, value.substring(1, value.length() - 1), Integer::parseInt);
+            if (days < 1) throw new IllegalArgumentException("Invalid day count for " + key + ": " + value);
+            // The first of the last N days, as in incidentWithinDays
+            return LocalDate.now().minusDays(days - 1);
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date (use yyyy-MM-dd or -Nd): " + value);
+        }
+    }
+
+    /**
+     * The criteria in the text form accepted by parse; empty when nothing is set
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        if (types != null) appendTerm(text, "type=", joinLabels(types));
+        if (statuses != null) appendTerm(text, "status=", joinLabels(statuses));
+        if (department != null) appendTerm(text, "department=", department);
+        if (faculty != null) appendTerm(text, "faculty=", faculty);
+        if (enrollmentNumber != null) appendTerm(text, "student=", enrollmentNumber);
+        if (minGravity != Integer.MIN_VALUE) appendTerm(text, "gravity>=", Integer.toString(minGravity));
+        if (maxGravity != Integer.MAX_VALUE) appendTerm(text, "gravity<=", Integer.toString(maxGravity));
+        if (incidentFrom != null) appendTerm(text, "incident>=", incidentFrom.toString());
+        if (incidentTo != null) appendTerm(text, "incident<=", incidentTo.toString());
+        if (closedFrom != null) appendTerm(text, "closed>=", closedFrom.toString());
+        if (closedTo != null) appendTerm(text, "closed<=", closedTo.toString());
+        if (!Double.isNaN(minSimilarity)) appendTerm(text, "similarity>=", Double.toString(minSimilarity));
+        if (!Double.isNaN(maxSimilarity)) appendTerm(text, "similarity<=", Double.toString(maxSimilarity));
+        return text.toString();
+    }
+
+    private static void appendTerm(StringBuilder text, String keyAndOp, String value) {
+        if (text.length() > 0) text.append(' ');
+        text.append(keyAndOp);
+        if (value.indexOf(' ') >= 0 || value.indexOf(',') >= 0) {
+            text.append('"').append(value).append('"');
+        } else {
+            text.append(value);
+        }
+    }
+
+    private static String joinLabels(EnumSet<?> values) {
+        StringBuilder labels = new StringBuilder();
+        for (Object value : values) {
+            if (labels.length() > 0) labels.append(',');
+            labels.append(value);
+        }
+        return labels.toString();
+    }
+}
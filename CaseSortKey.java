@@ -0,0 +1,32 @@
+import java.util.Comparator;
+
+/**
+ * Orders available for paged case listings. Every order breaks ties on
+ * record ID, so it is total and a page boundary never splits equal keys
+ * unpredictably.
+ */
+public enum CaseSortKey {
+    ID("Case ID", Comparator.comparingInt(Violation::getRecordID)),
+    INCIDENT_DATE("Incident date", Comparator.comparing(Violation::getIncidentDate,
+            Comparator.nullsLast(Comparator.naturalOrder()))),
+    GRAVITY("Gravity", Comparator.comparingInt(Violation::getGravityLevel)),
+    // Known statuses in workflow order, then any other labels alphabetically
+    STATUS("Status", Comparator.comparing(Violation::getStatusCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Violation::getCurrentStatus, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    private final String label;
+    private final Comparator<Violation> comparator;
+
+    CaseSortKey(String label, Comparator<Violation> order) {
+        this.label = label;
+        this.comparator = order.thenComparingInt(Violation::getRecordID);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Comparator<Violation> comparator() {
+        return comparator;
+    }
+}
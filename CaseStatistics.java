@@ -0,0 +1,155 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Incrementally maintained statistics over the case store. CaseManager
+ * feeds every add, remove and indexed-field change through add/remove, so
+ * the statistics screens never have to scan the archive.
+ */
+public class CaseStatistics {
+    public static final int MAX_GRAVITY = 5;
+
+    /**
+     * Case count for one student, as ranked by getTopOffenders
+     */
+    public static class StudentCaseCount {
+        private final Student student;
+        private int count;
+
+        private StudentCaseCount(Student student) {
+            this.student = student;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    // Most cases first; ties broken by enrollment number so the order is total
+    private static final Comparator<StudentCaseCount> BY_COUNT_DESC =
+            Comparator.comparingInt((StudentCaseCount c) -> -c.count)
+                    .thenComparing(c -> c.student.getStudentID());
+
+    private final LabelCounter<MisconductType> typeCounts = new LabelCounter<>(MisconductType.class);
+    private final LabelCounter<CaseStatus> statusCounts = new LabelCounter<>(CaseStatus.class);
+    private final int[] gravityCounts = new int[MAX_GRAVITY + 1];
+    private final Map<Integer, Integer> otherGravityCounts = new TreeMap<>();
+    private final Map<String, StudentCaseCount> studentCounts = new HashMap<>();
+    // Ordered view of studentCounts; entries are re-inserted whenever their count changes
+    private final TreeSet<StudentCaseCount> offenderRanking = new TreeSet<>(BY_COUNT_DESC);
+    private int totalCases;
+
+    public void add(Violation v) {
+        update(v, 1);
+    }
+
+    public void remove(Violation v) {
+        update(v, -1);
+    }
+
+    private void update(Violation v, int delta) {
+        totalCases += delta;
+        typeCounts.add(v.getMisconductTypeCode(), v.getMisconductType(), delta);
+        statusCounts.add(v.getStatusCode(), v.getCurrentStatus(), delta);
+
+        int gravity = v.getGravityLevel();
+        if (gravity >= 0 && gravity <= MAX_GRAVITY) {
+            gravityCounts[gravity] += delta;
+        } else {
+            otherGravityCounts.merge(gravity, delta, Integer::sum);
+            otherGravityCounts.remove(gravity, 0);
+        }
+
+        Student student = v.getStudent();
+        if (student == null) return;
+        StudentCaseCount entry = studentCounts.get(student.getStudentID());
+        if (entry == null) {
+            if (delta < 0) return;
+            entry = new StudentCaseCount(student);
+            studentCounts.put(student.getStudentID(), entry);
+        } else {
+            offenderRanking.remove(entry);
+        }
+        entry.count += delta;
+        if (entry.count > 0) {
+            offenderRanking.add(entry);
+        } else {
+            studentCounts.remove(student.getStudentID());
+        }
+    }
+
+    public int getTotalCases() {
+        return totalCases;
+    }
+
+    public int getTypeCount(MisconductType type) {
+        return typeCounts.get(type);
+    }
+
+    public int getStatusCount(CaseStatus status) {
+        return statusCounts.get(status);
+    }
+
+    public int getGravityCount(int gravity) {
+        if (gravity >= 0 && gravity <= MAX_GRAVITY) return gravityCounts[gravity];
+        return otherGravityCounts.getOrDefault(gravity, 0);
+    }
+
+    public void forEachTypeCount(ObjIntConsumer<String> action) {
+        typeCounts.forEach(action);
+    }
+
+    public void forEachStatusCount(ObjIntConsumer<String> action) {
+        statusCounts.forEach(action);
+    }
+
+    /**
+     * Visit every gravity level that has cases, in ascending order
+     */
+    public void forEachGravityCount(ObjIntConsumer<Integer> action) {
+        otherGravityCounts.forEach((gravity, count) -> {
+            if (gravity < 0) action.accept(gravity, count);
+        });
+        for (int gravity = 0; gravity <= MAX_GRAVITY; gravity++) {
+            if (gravityCounts[gravity] != 0) action.accept(gravity, gravityCounts[gravity]);
+        }
+        otherGravityCounts.forEach((gravity, count) -> {
+            if (gravity > MAX_GRAVITY) action.accept(gravity, count);
+        });
+    }
+
+    public int getStudentCount() {
+        return studentCounts.size();
+    }
+
+    public int getCaseCount(String studentID) {
+        StudentCaseCount entry = studentCounts.get(studentID);
+        return entry == null ? 0 : entry.count;
+    }
+
+    /**
+     * Students with the most cases, most first
+     * @param limit Maximum number of students to return
+     * @return copies of the counts, unaffected by later add/remove calls
+     */
+    public List<StudentCaseCount> getTopOffenders(int limit) {
+        List<StudentCaseCount> top = new ArrayList<>(Math.min(limit, offenderRanking.size()));
+        for (StudentCaseCount entry : offenderRanking) {
+            if (top.size() >= limit) break;
+            StudentCaseCount copy = new StudentCaseCount(entry.student);
+            copy.count = entry.count;
+            top.add(copy);
+        }
+        return top;
+    }
+}
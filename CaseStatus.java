@@ -0,0 +1,38 @@
+/**
+ * Lifecycle states of a violation case.
+ */
+public enum CaseStatus implements Labeled {
+    PENDING("Pending"),
+    UNDER_INVESTIGATION("Under Investigation"),
+    RESOLVED("Resolved"),
+    CLOSED("Closed");
+
+    private static final CaseStatus[] VALUES = values();
+
+    private final String label;
+
+    CaseStatus(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the constant with this label, or null (see Labeled.fromLabel)
+     */
+    public static CaseStatus fromLabel(String label) {
+        return Labeled.fromLabel(VALUES, label);
+    }
+
+    public static String[] labels() {
+        return Labeled.labels(VALUES);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
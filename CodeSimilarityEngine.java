@@ -0,0 +1,316 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Built-in code similarity check for a cohort of submissions, in the
+ * manner of MOSS.
+ *
+ * Each submission is tokenized with CodeTokenizer, hashed as overlapping
+ * k-grams of tokens, and reduced to fingerprints by winnowing: the
+ * smallest hash of every window of w consecutive k-grams. Any copied run
+ * of at least k + w - 1 tokens is guaranteed to share a fingerprint.
+ * Fingerprints go into an inverted index, so each submission is only
+ * compared with the submissions it actually shares fingerprints with
+ * instead of with the whole cohort. Fingerprints found in too many
+ * submissions, or in registered base code, are treated as boilerplate and
+ * ignored. Fingerprinting and comparison run in parallel when more than
+ * one processor is available.
+ *
+ * A submission's similarity to another is the share of its fingerprints
+ * found in the other one. Students whose best match reaches the threshold
+ * get a CodePlagiarismViolation naming that match, with the matched line
+ * ranges as evidence (see SimilarityEngine).
+ *
+ * Usage: java CodeSimilarityEngine <manifest.csv> <faculty> [threshold%]
+ * (see CohortManifest; the language column defaults to the file extension)
+ */
+public class CodeSimilarityEngine extends SimilarityEngine<CodeSimilarityEngine.Submission> {
+    public static final String DETECTION_TOOL = "AIVT Winnowing";
+    public static final int DEFAULT_KGRAM = 12;
+    public static final int DEFAULT_WINDOW = 8;
+    public static final double DEFAULT_THRESHOLD = 60.0;
+    // Submissions with fewer fingerprints are too short to judge
+    private static final int MIN_FINGERPRINTS = 5;
+    private static final long HASH_BASE = 1_000_003L;
+
+    private final int kgram;
+    private final int window;
+    // The cohort (SimilarityEngine.documents)
+    private final List<Submission> submissions = documents;
+    private final Set<Integer> baseFingerprints = new HashSet<>();
+
+    /**
+     * One student's file in the cohort
+     */
+    public static class Submission extends SimilarityEngine.Document {
+        private final CodeTokenizer.Language language;
+        private final String source;
+        // Distinct fingerprints in ascending order, with the line each one starts on
+        private int[] fingerprints;
+        private int[] lines;
+
+        Submission(Student student, String label, CodeTokenizer.Language language, String source) {
+            super(student, label);
+            this.language = language;
+            this.source = source;
+        }
+
+        public CodeTokenizer.Language getLanguage() {
+            return language;
+        }
+
+        public int getFingerprintCount() {
+            return fingerprints == null ? 0 : fingerprints.length;
+        }
+
+        @Override
+        protected int featureCount() {
+            return getFingerprintCount();
+        }
+    }
+
+    public CodeSimilarityEngine(CaseManager caseManager) {
+        this(caseManager, DEFAULT_KGRAM, DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param kgram Tokens per hashed k-gram; shorter runs are never matched
+     * @param window K-grams per winnowing window; runs of kgram + window - 1 tokens always match
+     */
+    public CodeSimilarityEngine(CaseManager caseManager, int kgram, int window) {
+        super(caseManager, DEFAULT_THRESHOLD);
+        if (kgram < 1 || window < 1) throw new IllegalArgumentException("kgram and window must be positive");
+        this.kgram = kgram;
+        this.window = window;
+    }
+
+    public void addSubmission(Student student, String label, CodeTokenizer.Language language, String source) {
+        submissions.add(new Submission(student, label, language, source));
+    }
+
+    /**
+     * Register starter code handed out to the cohort; its fingerprints never count as matches
+     */
+    public void addBaseCode(CodeTokenizer.Language language, String source) {
+        for (int fingerprint : fingerprint(source, language)[0]) {
+            baseFingerprints.add(fingerprint);
+        }
+    }
+
+    public List<Submission> getSubmissions() {
+        return submissions;
+    }
+
+    /**
+     * Compare every submission with every other one it shares fingerprints with
+     * @return pairs of different students with at least one shared fingerprint
+     *         and a similarity at or above minSimilarity on either side,
+     *         most similar first
+     */
+    @Override
+    public List<Match<Submission>> compare(double minSimilarity) {
+        boolean parallel = Runtime.getRuntime().availableProcessors() > 1;
+        IntStream indexes = IntStream.range(0, submissions.size());
+        (parallel ? indexes.parallel() : indexes).forEach(i -> {
+            Submission submission = submissions.get(i);
+            int[][] result = fingerprint(submission.source, submission.language);
+            submission.fingerprints = result[0];
+            submission.lines = result[1];
+        });
+
+        // Boilerplate counts neither as a match nor towards a submission's size
+        Map<Integer, Integer> frequencies = new HashMap<>();
+        for (Submission submission : submissions) {
+            for (int fingerprint : submission.fingerprints) {
+                frequencies.merge(fingerprint, 1, Integer::sum);
+            }
+        }
+        int maxSubmissions = Math.max(2, (int) (maxShare * submissions.size()));
+        Set<Integer> boilerplate = new HashSet<>(baseFingerprints);
+        frequencies.forEach((fingerprint, frequency) -> {
+            if (frequency > maxSubmissions) boilerplate.add(fingerprint);
+        });
+        if (!boilerplate.isEmpty()) {
+            IntStream stripped = IntStream.range(0, submissions.size());
+            (parallel ? stripped.parallel() : stripped).forEach(i -> removeFingerprints(submissions.get(i), boilerplate));
+        }
+
+        // Fingerprint -> submissions containing it, in submission order
+        Map<Integer, int[]> postings = buildPostings(frequencies, boilerplate);
+        IntStream candidates = IntStream.range(0, submissions.size());
+        return (parallel ? candidates.parallel() : candidates)
+                .mapToObj(i -> matchesOf(i, postings, minSimilarity))
+                .flatMap(List::stream)
+                .sorted(MOST_SIMILAR_FIRST)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Violation toViolation(Submission submission, Submission source, double similarity, String evidence,
+                                    String faculty, LocalDate incidentDate) {
+        String description = String.format(Locale.ROOT,
+                "Automated code similarity check flagged %s: %.1f%% of its fingerprints match %s (%s).",
+                submission.label, similarity, source.label, source.student.getStudentID());
+
+        return new CodePlagiarismViolation(submission.student, MisconductType.CODE_PLAGIARISM.getLabel(),
+                incidentDate, faculty, gravityFor(similarity), CaseStatus.PENDING.getLabel(),
+                Sanction.NONE.getLabel(), description, 0, evidence,
+                source.label + " (" + source.student.getStudentID() + ")",
+                Math.round(similarity * 10) / 10.0, submission.language.getLabel(), DETECTION_TOOL);
+    }
+
+    private static void removeFingerprints(Submission submission, Set<Integer> excluded) {
+        int kept = 0;
+        for (int i = 0; i < submission.fingerprints.length; i++) {
+            if (!excluded.contains(submission.fingerprints[i])) {
+                submission.fingerprints[kept] = submission.fingerprints[i];
+                submission.lines[kept++] = submission.lines[i];
+            }
+        }
+        submission.fingerprints = Arrays.copyOf(submission.fingerprints, kept);
+        submission.lines = Arrays.copyOf(submission.lines, kept);
+    }
+
+    // Only fingerprints in at least two submissions can produce a match
+    private Map<Integer, int[]> buildPostings(Map<Integer, Integer> frequencies, Set<Integer> boilerplate) {
+        Map<Integer, int[]> postings = new HashMap<>();
+        frequencies.forEach((fingerprint, frequency) -> {
+            if (frequency > 1 && !boilerplate.contains(fingerprint)) postings.put(fingerprint, new int[frequency]);
+        });
+        Map<Integer, Integer> filled = new HashMap<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            for (int fingerprint : submissions.get(i).fingerprints) {
+                int[] list = postings.get(fingerprint);
+                if (list != null) list[filled.merge(fingerprint, 1, Integer::sum) - 1] = i;
+            }
+        }
+        return postings;
+    }
+
+    // Matches between submission i and later submissions, found through the postings
+    private List<Match<Submission>> matchesOf(int i, Map<Integer, int[]> postings, double minSimilarity) {
+        Submission submission = submissions.get(i);
+        List<Match<Submission>> matches = new ArrayList<>();
+        if (submission.fingerprints.length < MIN_FINGERPRINTS) return matches;
+        // Shared fingerprint counts of the later submissions found in the postings
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (int fingerprint : submission.fingerprints) {
+            int[] list = postings.get(fingerprint);
+            if (list == null) continue;
+            for (int j = list.length - 1; j >= 0 && list[j] > i; j--) {
+                shared.merge(list[j], 1, Integer::sum);
+            }
+        }
+        shared.forEach((j, count) -> {
+            Submission other = submissions.get(j);
+            if (other.fingerprints.length < MIN_FINGERPRINTS
+                    || other.student.getStudentID().equals(submission.student.getStudentID())) {
+                return;
+            }
+            Match<Submission> match = new Match<>(submission, other, count);
+            if (match.getMaxSimilarity() >= minSimilarity) matches.add(match);
+        });
+        return matches;
+    }
+
+    // Line ranges of the submission holding fingerprints also found in other, e.g. "lines 3-17, 40-52"
+    @Override
+    protected String matchedRanges(Submission submission, Submission other) {
+        List<Integer> lines = new ArrayList<>();
+        int j = 0;
+        for (int i = 0; i < submission.fingerprints.length; i++) {
+            int fingerprint = submission.fingerprints[i];
+            while (j < other.fingerprints.length && other.fingerprints[j] < fingerprint) j++;
+            if (j < other.fingerprints.length && other.fingerprints[j] == fingerprint) {
+                lines.add(submission.lines[i]);
+            }
+        }
+        lines.sort(null);
+        StringBuilder ranges = new StringBuilder();
+        int k = 0;
+        while (k < lines.size()) {
+            int start = lines.get(k);
+            int end = start;
+            // Fingerprints a few lines apart belong to the same copied block
+            while (k + 1 < lines.size() && lines.get(k + 1) <= end + 3) end = lines.get(++k);
+            k++;
+            if (ranges.length() > 0) ranges.append(", ");
+            ranges.append(start == end ? String.valueOf(start) : start + "-" + end);
+        }
+        return "lines " + ranges;
+    }
+
+    /**
+     * Winnow a source text
+     * @return the distinct fingerprints in ascending order, and the line each first appears on
+     */
+    private int[][] fingerprint(String source, CodeTokenizer.Language language) {
+        CodeTokenizer.Tokens tokens = CodeTokenizer.tokenize(source, language);
+        int grams = tokens.size() - kgram + 1;
+        if (grams < 1) return new int[][] {new int[0], new int[0]};
+
+        // Rolling polynomial hash of each k-gram of token codes
+        long[] hashes = new long[grams];
+        long power = 1;
+        for (int i = 1; i < kgram; i++) power *= HASH_BASE;
+        long hash = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i >= kgram) hash -= tokens.getCode(i - kgram) * power;
+            hash = hash * HASH_BASE + tokens.getCode(i);
+            if (i >= kgram - 1) hashes[i - kgram + 1] = mix(hash);
+        }
+
+        // Winnowing: keep the minimum of each window, the rightmost one on ties
+        Map<Integer, Integer> selected = new HashMap<>();
+        int span = Math.min(window, grams);
+        int minimum = -1;
+        for (int end = span - 1; end < grams; end++) {
+            int start = end - span + 1;
+            if (minimum < start) {
+                minimum = start;
+                for (int i = start + 1; i <= end; i++) {
+                    if (hashes[i] <= hashes[minimum]) minimum = i;
+                }
+            } else if (hashes[end] <= hashes[minimum]) {
+                minimum = end;
+            }
+            selected.putIfAbsent((int) hashes[minimum], tokens.getLine(minimum));
+        }
+
+        int[] fingerprints = selected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] lines = new int[fingerprints.length];
+        for (int i = 0; i < fingerprints.length; i++) {
+            lines[i] = selected.get(fingerprints[i]);
+        }
+        return new int[][] {fingerprints, lines};
+    }
+
+    /**
+     * Add every submission listed in a cohort manifest
+     */
+    @Override
+    public void loadManifest(Path manifest) throws IOException {
+        for (CohortManifest.Entry entry : CohortManifest.read(manifest, caseManager)) {
+            CodeTokenizer.Language language = entry.getLanguage().isEmpty()
+                    ? CodeTokenizer.Language.fromFileName(entry.getFile())
+                    : CodeTokenizer.Language.fromLabel(entry.getLanguage());
+            if (language == null) throw new IOException("Unknown language for " + entry.getFile());
+            addSubmission(entry.getStudent(), entry.getFile(), language, entry.readText());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        run(args, "CodeSimilarityEngine", "submissions", CodeSimilarityEngine::new);
+    }
+}
@@ -0,0 +1,224 @@
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns source code into a normalized token stream for similarity checks.
+ *
+ * Comments and whitespace are dropped, identifiers, numbers and string or
+ * character literals each collapse to a single token kind, and keywords
+ * and operators are kept as written. Renaming variables, reformatting or
+ * rewording comments therefore leaves the stream unchanged. Each token is
+ * an int code with the line it started on.
+ */
+public class CodeTokenizer {
+    /**
+     * Supported languages and how they write comments, strings and keywords
+     */
+    public enum Language {
+        JAVA("Java", false, "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
+                "continue", "default", "do", "double", "else", "enum", "extends", "final", "finally", "float",
+                "for", "if", "implements", "import", "instanceof", "int", "interface", "long", "new", "package",
+                "private", "protected", "public", "return", "short", "static", "super", "switch", "synchronized",
+                "this", "throw", "throws", "try", "void", "volatile", "while", "var", "record", "yield",
+                "true", "false", "null"),
+        C_FAMILY("C/C++", false, "auto", "bool", "break", "case", "catch", "char", "class", "const", "continue",
+                "default", "delete", "do", "double", "else", "enum", "extern", "float", "for", "goto", "if",
+                "inline", "int", "long", "namespace", "new", "operator", "private", "protected", "public",
+                "return", "short", "signed", "sizeof", "static", "struct", "switch", "template", "this",
+                "throw", "try", "typedef", "typename", "union", "unsigned", "using", "virtual", "void",
+                "volatile", "while", "true", "false", "nullptr", "NULL"),
+        JAVASCRIPT("JavaScript", false, "async", "await", "break", "case", "catch", "class", "const", "continue",
+                "default", "delete", "do", "else", "export", "extends", "finally", "for", "function", "if",
+                "import", "in", "instanceof", "let", "new", "of", "return", "super", "switch", "this", "throw",
+                "try", "typeof", "var", "void", "while", "yield", "true", "false", "null", "undefined"),
+        PYTHON("Python", true, "and", "as", "assert", "async", "await", "break", "class", "continue", "def",
+                "del", "elif", "else", "except", "finally", "for", "from", "global", "if", "import", "in",
+                "is", "lambda", "nonlocal", "not", "or", "pass", "raise", "return", "try", "while", "with",
+                "yield", "True", "False", "None");
+
+        private final String label;
+        // '#' comments and triple-quoted strings instead of '//' and '/* */'
+        private final boolean hashComments;
+        private final Set<String> keywords;
+
+        Language(String label, boolean hashComments, String... keywords) {
+            this.label = label;
+            this.hashComments = hashComments;
+            this.keywords = new HashSet<>(Arrays.asList(keywords));
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the language for a file name's extension, or null if it is not recognized
+         */
+        public static Language fromFileName(String fileName) {
+            String name = fileName.toLowerCase(Locale.ROOT);
+            int dot = name.lastIndexOf('.');
+            switch (dot < 0 ? "" : name.substring(dot + 1)) {
+                case "java":
+                    return JAVA;
+                case "c": case "h": case "cc": case "cpp": case "cxx": case "hpp": case "cs":
+                    return C_FAMILY;
+                case "js": case "jsx": case "mjs": case "ts": case "tsx":
+                    return JAVASCRIPT;
+                case "py":
+                    return PYTHON;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @return the language with this label or name, ignoring case, or null
+         */
+        public static Language fromLabel(String label) {
+            for (Language language : values()) {
+                if (language.label.equalsIgnoreCase(label) || language.name().equalsIgnoreCase(label)) {
+                    return language;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Tokens of one source text as parallel arrays
+     */
+    public static class Tokens {
+        private final int[] codes;
+        private final int[] lines;
+
+        Tokens(int[] codes, int[] lines) {
+            this.codes = codes;
+            this.lines = lines;
+        }
+
+        public int size() {
+            return codes.length;
+        }
+
+        public int getCode(int index) {
+            return codes[index];
+        }
+
+        public int getLine(int index) {
+            return lines[index];
+        }
+    }
+
+    private static final int IDENTIFIER = "<id>".hashCode();
+    private static final int NUMBER = "<num>".hashCode();
+    private static final int LITERAL = "<str>".hashCode();
+    // Operators of more than one character; longest match wins
+    private static final String[] OPERATORS = {
+        ">>>=", "<<=", ">>=", ">>>", "...", "===", "!==", "**=", "//=",
+        "==", "!=", "<=", ">=", "&&", "||", "++", "--", "+=", "-=", "*=", "/=", "%=", "&=", "|=", "^=",
+        "<<", ">>", "->", "::", "=>", "**", "//"
+    };
+
+    private CodeTokenizer() {
+    }
+
+    public static Tokens tokenize(String source, Language language) {
+        int[] codes = new int[Math.max(16, source.length() / 4)];
+        int[] lines = new int[codes.length];
+        int count = 0;
+        int line = 1;
+        int i = 0;
+        int length = source.length();
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '\n') {
+                line++;
+                i++;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            int startLine = line;
+            int code;
+            if (language.hashComments ? c == '#' : c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+                while (i < length && source.charAt(i) != '\n') i++;
+                continue;
+            } else if (!language.hashComments && c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                line += countNewlines(source, i, end);
+                i = end;
+                continue;
+            } else if (c == '"' || c == '\'' || (c == '`' && language == Language.JAVASCRIPT)) {
+                String quote = String.valueOf(c);
+                if (language.hashComments && source.startsWith(quote + quote + quote, i)) {
+                    quote = quote + quote + quote;
+                } else if (language == Language.JAVA && source.startsWith("\"\"\"", i)) {
+                    quote = "\"\"\"";
+                }
+                i = skipLiteral(source, i + quote.length(), quote);
+                line += countNewlines(source, start, i);
+                code = LITERAL;
+            } else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(source.charAt(i + 1)))) {
+                while (i < length && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '.'
+                        || source.charAt(i) == '_')) {
+                    i++;
+                }
+                code = NUMBER;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) i++;
+                String word = source.substring(start, i);
+                code = language.keywords.contains(word) ? word.hashCode() : IDENTIFIER;
+            } else {
+                String operator = String.valueOf(c);
+                for (String candidate : OPERATORS) {
+                    if (source.startsWith(candidate, i)) {
+                        operator = candidate;
+                        break;
+                    }
+                }
+                i += operator.length();
+                code = operator.hashCode();
+            }
+
+            if (count == codes.length) {
+                codes = Arrays.copyOf(codes, count * 2);
+                lines = Arrays.copyOf(lines, count * 2);
+            }
+            codes[count] = code;
+            lines[count++] = startLine;
+        }
+        return new Tokens(Arrays.copyOf(codes, count), Arrays.copyOf(lines, count));
+    }
+
+    // Position just past the closing quote, honouring backslash escapes
+    private static int skipLiteral(String source, int i, String quote) {
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (source.startsWith(quote, i)) {
+                return i + quote.length();
+            } else if (c == '\n' && quote.length() == 1 && quote.charAt(0) != '`') {
+                return i; // unterminated single-line literal
+            } else {
+                i++;
+            }
+        }
+        return source.length();
+    }
+
+    private static int countNewlines(String source, int from, int to) {
+        int newlines = 0;
+        for (int i = from; i < to && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') newlines++;
+        }
+        return newlines;
+    }
+}
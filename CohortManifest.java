@@ -0,0 +1,103 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A cohort of submissions listed in a CSV manifest, for the similarity
+ * engines. Columns: enrollment, name, email, department, file (relative to
+ * the manifest) and an optional language. Name and email are only needed
+ * for students the case manager does not know yet.
+ */
+public class CohortManifest {
+    /**
+     * One row of the manifest
+     */
+    public static class Entry {
+        private final Student student;
+        private final String file;
+        private final String language;
+        private final Path path;
+
+        Entry(Student student, String file, String language, Path path) {
+            this.student = student;
+            this.file = file;
+            this.language = language;
+            this.path = path;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        /**
+         * @return the file as written in the manifest
+         */
+        public String getFile() {
+            return file;
+        }
+
+        /**
+         * @return the language column, or "" when absent
+         */
+        public String getLanguage() {
+            return language;
+        }
+
+        public String readText() throws IOException {
+            return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        }
+    }
+
+    private CohortManifest() {
+    }
+
+    /**
+     * @param caseManager Supplies the registered record of students who already have cases
+     */
+    public static List<Entry> read(Path manifest, CaseManager caseManager) throws IOException {
+        Path directory = manifest.toAbsolutePath().getParent();
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            CaseImporter.CsvReader csv = new CaseImporter.CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) return entries;
+            while (true) {
+                long line = csv.getLineNumber();
+                List<String> record = csv.readRecord();
+                if (record == null) break;
+                if (record.size() == 1 && record.get(0).isEmpty()) continue;
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < header.size() && i < record.size(); i++) {
+                    row.put(header.get(i).trim().toLowerCase(Locale.ROOT), record.get(i));
+                }
+
+                String enrollment = required(row, "enrollment", line);
+                ValidationError error = ValidationEngine.checkEnrollmentNumber(enrollment);
+                if (error != null) throw new IOException("Line " + line + ": " + error.getMessage());
+                String file = required(row, "file", line);
+                Student student = caseManager.findStudent(enrollment);
+                if (student == null) {
+                    student = new Student(enrollment, required(row, "name", line), required(row, "email", line),
+                            row.getOrDefault("department", "").trim());
+                }
+                entries.add(new Entry(student, file, row.getOrDefault("language", "").trim(), directory.resolve(file)));
+            }
+        }
+        return entries;
+    }
+
+    private static String required(Map<String, String> row, String column, long line) throws IOException {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IOException("Line " + line + ": missing required column " + column);
+        }
+        return value.trim();
+    }
+}
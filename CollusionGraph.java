@@ -0,0 +1,339 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Students linked by collusion cases, kept up to date as cases change.
+ *
+ * The involved parties of each CollusionViolation are parsed from its
+ * free-text list. A party resolves to a registered student by enrollment
+ * number, or by name when exactly one registered student has it; anyone
+ * else stays a node keyed by the normalized name, and is merged into the
+ * student's node once a student with that name is registered. Each case
+ * links its accused student to every party. The graph keeps adjacency
+ * (with the cases behind each link) and a union-find over the nodes, so
+ * adding a case is a few unions. Removing the last case behind a link may
+ * split a group; the union-find is then rebuilt from the adjacency on the
+ * next query. A change that removes and re-adds the same links, such as a
+ * status update, does not trigger a rebuild.
+ *
+ * Not thread-safe for writes; CaseManager changes it under its write lock.
+ * Queries may rebuild the union-find and are synchronized among themselves.
+ */
+public class CollusionGraph {
+    // Smallest group reported as a ring
+    public static final int MIN_RING_SIZE = 3;
+    private static final Pattern ENROLLMENT = Pattern.compile("\\b(\\d{" + ValidationEngine.ENROLLMENT_LENGTH + "})\\b");
+    private static final Pattern SEPARATORS = Pattern.compile("[,;&\\n/]|\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final String ID_KEY = "id:";
+    private static final String NAME_KEY = "name:";
+
+    // The links one case contributes
+    private static class CaseLinks {
+        final CollusionViolation violation;
+        final int accused;
+        final int[] parties;
+        final LocalDate incidentDate;
+
+        CaseLinks(CollusionViolation violation, int accused, int[] parties) {
+            this.violation = violation;
+            this.accused = accused;
+            this.parties = parties;
+            this.incidentDate = violation.getIncidentDate();
+        }
+    }
+
+    private final StudentRegistry registry;
+    // Node key ("id:..." or "name:...") -> node; nodes are never renumbered
+    private final Map<String, Integer> nodes = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    // Party text as first written, shown for names that never resolved
+    private final List<String> labels = new ArrayList<>();
+    // Node -> neighbour -> IDs of the cases linking them
+    private final List<Map<Integer, Set<Integer>>> adjacency = new ArrayList<>();
+    private final Map<Integer, CaseLinks> cases = new HashMap<>();
+    // Links that lost their last case since the union-find was built
+    private final Set<Long> brokenLinks = new HashSet<>();
+    private int[] parent = new int[16];
+    private int[] size = new int[16];
+    // Root -> the nodes in its group
+    private final List<List<Integer>> members = new ArrayList<>();
+
+    public CollusionGraph(StudentRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void add(CollusionViolation violation) {
+        if (violation.getStudent() == null) return;
+        int accused = node(ID_KEY + violation.getEnrollmentNumber(), violation.getFullName());
+        Set<Integer> parties = new TreeSet<>();
+        for (String party : parseParties(violation.getInvolvedParties())) {
+            String key = keyOf(party);
+            if (key == null) continue;
+            int node = node(key, party);
+            if (node != accused) parties.add(node);
+        }
+        int[] linked = parties.stream().mapToInt(Integer::intValue).toArray();
+        cases.put(violation.getRecordID(), new CaseLinks(violation, accused, linked));
+        for (int party : linked) {
+            Set<Integer> caseIDs = adjacency.get(accused).get(party);
+            if (caseIDs == null) {
+                caseIDs = new HashSet<>(2);
+                adjacency.get(accused).put(party, caseIDs);
+                adjacency.get(party).put(accused, caseIDs);
+                brokenLinks.remove(linkKey(accused, party));
+            }
+            caseIDs.add(violation.getRecordID());
+            union(accused, party);
+        }
+    }
+
+    public void remove(int recordID) {
+        CaseLinks links = cases.remove(recordID);
+        if (links == null) return;
+        for (int party : links.parties) {
+            Set<Integer> caseIDs = adjacency.get(links.accused).get(party);
+            if (caseIDs == null) continue;
+            caseIDs.remove(recordID);
+            if (caseIDs.isEmpty()) {
+                adjacency.get(links.accused).remove(party);
+                adjacency.get(party).remove(links.accused);
+                brokenLinks.add(linkKey(links.accused, party));
+            }
+        }
+    }
+
+    /**
+     * A student was registered: cases naming them only by name now link to
+     * their record
+     */
+    public void studentRegistered(Student student) {
+        Integer named = nodes.get(NAME_KEY + StudentSearchIndex.normalize(student.getStudentName()));
+        if (named == null || adjacency.get(named).isEmpty()) return;
+        List<CaseLinks> affected = new ArrayList<>();
+        for (CaseLinks links : cases.values()) {
+            if (links.accused == named || Arrays.stream(links.parties).anyMatch(p -> p == named)) {
+                affected.add(links);
+            }
+        }
+        for (CaseLinks links : affected) {
+            remove(links.violation.getRecordID());
+            add(links.violation);
+        }
+    }
+
+    /**
+     * Everyone linked to a student, directly or through other cases
+     * @param student An enrollment number or name, as it would appear in a party list
+     * @return the student's group, or null if no collusion case involves them
+     */
+    public synchronized CollusionRing ringOf(String student) {
+        String key = keyOf(student.trim());
+        Integer node = key == null ? null : nodes.get(key);
+        if (node == null || adjacency.get(node).isEmpty()) return null;
+        refresh();
+        return toRing(members.get(find(node)), null, null);
+    }
+
+    /**
+     * Groups of at least MIN_RING_SIZE students, largest first
+     * @param from Only count cases from this date, or null for no lower bound
+     * @param to Only count cases up to this date, or null for no upper bound
+     * @param limit Maximum number of rings
+     */
+    public synchronized List<CollusionRing> largestRings(LocalDate from, LocalDate to, int limit) {
+        List<List<Integer>> groups = new ArrayList<>();
+        if (from == null && to == null) {
+            refresh();
+            for (int node = 0; node < keys.size(); node++) {
+                if (parent[node] == node && members.get(node).size() >= MIN_RING_SIZE) {
+                    groups.add(members.get(node));
+                }
+            }
+        } else {
+            groups = groupsWithin(from, to);
+        }
+        List<CollusionRing> rings = new ArrayList<>();
+        for (List<Integer> group : groups) {
+            rings.add(toRing(group, from, to));
+        }
+        rings.sort(Comparator.comparingInt(CollusionRing::size).reversed()
+                .thenComparing(Comparator.comparingInt((CollusionRing ring) -> ring.getCaseIDs().size()).reversed())
+                .thenComparing(ring -> ring.getCaseIDs().get(0)));
+        return rings.size() > limit ? new ArrayList<>(rings.subList(0, limit)) : rings;
+    }
+
+    // Groups formed by the cases dated within [from, to] alone
+    private List<List<Integer>> groupsWithin(LocalDate from, LocalDate to) {
+        int[] groupParent = new int[keys.size()];
+        Arrays.fill(groupParent, -1);
+        for (CaseLinks links : cases.values()) {
+            if (!within(links.incidentDate, from, to)) continue;
+            if (groupParent[links.accused] < 0) groupParent[links.accused] = links.accused;
+            for (int party : links.parties) {
+                if (groupParent[party] < 0) groupParent[party] = party;
+                int a = findIn(groupParent, links.accused);
+                int b = findIn(groupParent, party);
+                if (a != b) groupParent[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+        for (int node = 0; node < groupParent.length; node++) {
+            if (groupParent[node] >= 0) {
+                groups.computeIfAbsent(findIn(groupParent, node), k -> new ArrayList<>()).add(node);
+            }
+        }
+        List<List<Integer>> rings = new ArrayList<>();
+        for (List<Integer> group : groups.values()) {
+            if (group.size() >= MIN_RING_SIZE) rings.add(group);
+        }
+        return rings;
+    }
+
+    private CollusionRing toRing(List<Integer> group, LocalDate from, LocalDate to) {
+        Set<Integer> caseIDs = new TreeSet<>();
+        for (int node : group) {
+            for (Set<Integer> linking : adjacency.get(node).values()) {
+                caseIDs.addAll(linking);
+            }
+        }
+        LocalDate first = null;
+        LocalDate last = null;
+        List<Integer> ringCases = new ArrayList<>();
+        for (int recordID : caseIDs) {
+            LocalDate date = cases.get(recordID).incidentDate;
+            if (!within(date, from, to)) continue;
+            ringCases.add(recordID);
+            if (date != null && (first == null || date.isBefore(first))) first = date;
+            if (date != null && (last == null || date.isAfter(last))) last = date;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        for (int node : group) {
+            String key = keys.get(node);
+            Student student = key.startsWith(ID_KEY) ? registry.get(key.substring(ID_KEY.length())) : null;
+            if (student != null) {
+                students.add(student);
+                names.add(student.getStudentName() + " (" + student.getStudentID() + ")");
+            } else {
+                names.add(labels.get(node));
+            }
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        students.sort(Comparator.comparing(Student::getStudentName, String.CASE_INSENSITIVE_ORDER));
+        return new CollusionRing(names, students, ringCases, first, last);
+    }
+
+    private static boolean within(LocalDate date, LocalDate from, LocalDate to) {
+        if (from == null && to == null) return true;
+        if (date == null) return false;
+        return (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+    }
+
+    /**
+     * Split a free-text party list ("Alex Chen, Sarah Kim and 20231234")
+     * into its parties
+     */
+    static List<String> parseParties(String involvedParties) {
+        List<String> parties = new ArrayList<>();
+        if (involvedParties == null) return parties;
+        for (String part : SEPARATORS.split(involvedParties)) {
+            String party = part.trim();
+            if (!party.isEmpty()) parties.add(party);
+        }
+        return parties;
+    }
+
+    // Node key of a party: its enrollment number if known, else its normalized name
+    private String keyOf(String party) {
+        Matcher enrollment = ENROLLMENT.matcher(party);
+        if (enrollment.find()) return ID_KEY + enrollment.group(1);
+        List<Student> namesakes = registry.findByName(party);
+        if (namesakes.size() == 1) return ID_KEY + namesakes.get(0).getStudentID();
+        String name = StudentSearchIndex.normalize(party);
+        return name.isEmpty() ? null : NAME_KEY + name;
+    }
+
+    private int node(String key, String label) {
+        Integer existing = nodes.get(key);
+        if (existing != null) return existing;
+        int node = keys.size();
+        nodes.put(key, node);
+        keys.add(key);
+        labels.add(label);
+        adjacency.add(new HashMap<>());
+        if (node == parent.length) {
+            parent = Arrays.copyOf(parent, node * 2);
+            size = Arrays.copyOf(size, node * 2);
+        }
+        parent[node] = node;
+        size[node] = 1;
+        List<Integer> group = new ArrayList<>(1);
+        group.add(node);
+        members.add(group);
+        return node;
+    }
+
+    private static long linkKey(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+
+    // Rebuild the union-find if a removed case may have split a group
+    private void refresh() {
+        if (brokenLinks.isEmpty()) return;
+        for (int node = 0; node < keys.size(); node++) {
+            parent[node] = node;
+            size[node] = 1;
+            members.get(node).clear();
+            members.get(node).add(node);
+        }
+        for (int node = 0; node < keys.size(); node++) {
+            for (int neighbour : adjacency.get(node).keySet()) {
+                if (neighbour > node) union(node, neighbour);
+            }
+        }
+        brokenLinks.clear();
+    }
+
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private static int findIn(int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    // Union by size, moving the smaller group's member list into the larger
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return;
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        members.get(rootA).addAll(members.get(rootB));
+        members.get(rootB).clear();
+    }
+}
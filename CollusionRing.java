@@ -0,0 +1,65 @@
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of students linked through collusion cases: everyone accused in,
+ * or named as a party to, a case that shares someone with another case in
+ * the group.
+ */
+public class CollusionRing {
+    private final List<String> members;
+    private final List<Student> students;
+    private final List<Integer> caseIDs;
+    private final LocalDate firstIncident;
+    private final LocalDate lastIncident;
+
+    CollusionRing(List<String> members, List<Student> students, List<Integer> caseIDs,
+                  LocalDate firstIncident, LocalDate lastIncident) {
+        this.members = Collections.unmodifiableList(members);
+        this.students = Collections.unmodifiableList(students);
+        this.caseIDs = Collections.unmodifiableList(caseIDs);
+        this.firstIncident = firstIncident;
+        this.lastIncident = lastIncident;
+    }
+
+    /**
+     * @return every member for display: "Name (enrollment)" for registered
+     *         students, the party as written otherwise, in name order
+     */
+    public List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return the members matched to registered students
+     */
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    /**
+     * @return the collusion cases linking the members, in record ID order
+     */
+    public List<Integer> getCaseIDs() {
+        return caseIDs;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public LocalDate getFirstIncident() {
+        return firstIncident;
+    }
+
+    public LocalDate getLastIncident() {
+        return lastIncident;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d students across %d case(s) from %s to %s: %s",
+                members.size(), caseIDs.size(), firstIncident, lastIncident, String.join(", ", members));
+    }
+}
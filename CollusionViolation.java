@@ -1,71 +1,86 @@
-
-import java.time.LocalDate;
-
-public class CollusionViolation extends Violation {
-    private static final long serialVersionUID = 1L;
-    
-    private String involvedParties;
-    private String collaborationDetails;
-
-    // Updated constructor to use Student object
-    public CollusionViolation(Student student, String misconductType, 
-                            LocalDate incidentDate, String reportingFaculty, int gravityLevel, 
-                            String currentStatus, String appliedSanction, String incidentDescription, 
-                            int recordID, String supportingEvidence, String involvedParties, 
-                            String collaborationDetails) {
-        super(student, misconductType, incidentDate, reportingFaculty, 
-              gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID, supportingEvidence);
-        this.involvedParties = involvedParties;
-        this.collaborationDetails = collaborationDetails;
-    }
-
-    public String getInvolvedParties() { 
-        return involvedParties; 
-    }
-    
-    public void setInvolvedParties(String involvedParties) { 
-        this.involvedParties = involvedParties; 
-    }
-    
-    public String getCollaborationDetails() { 
-        return collaborationDetails; 
-    }
-    
-    public void setCollaborationDetails(String collaborationDetails) { 
-        this.collaborationDetails = collaborationDetails; 
-    }
-
-    @Override
-    public String generateReport() {
-        return String.format("""
-            ==================================================
-                         COLLUSION CASE REPORT
-            ==================================================
-            Case ID: %d
-            Student: %s (%s)
-            Email: %s
-            Department: %s
-            Incident Date: %s
-            Reporting Faculty: %s
-            --------------------------------------------------
-            Gravity Level: %d/5
-            Current Status: %s
-            Applied Sanction: %s
-            --------------------------------------------------
-            Incident Description:
-            %s
-            --------------------------------------------------
-            Supporting Evidence:
-            %s
-            --------------------------------------------------
-            Collusion Details:
-            Involved Parties: %s
-            Collaboration Details: %s
-            ==================================================
-            """, 
-            recordID, getFullName(), getEnrollmentNumber(), 
-            getEmail(), getDepartment(), incidentDate, reportingFaculty,
-            gravityLevel, currentStatus, appliedSanction, incidentDescription,
-            supportingEvidence, involvedParties, collaborationDetails);
-    }
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+public class CollusionViolation extends Violation {
+    private static final long serialVersionUID = 1L;
+    
+    private String involvedParties;
+    private String collaborationDetails;
+
+    // Updated constructor to use Student object
+    public CollusionViolation(Student student, String misconductType, 
+                            LocalDate incidentDate, String reportingFaculty, int gravityLevel, 
+                            String currentStatus, String appliedSanction, String incidentDescription, 
+                            int recordID, String supportingEvidence, String involvedParties, 
+                            String collaborationDetails) {
+        super(student, misconductType, incidentDate, reportingFaculty, 
+              gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID, supportingEvidence);
+        this.involvedParties = involvedParties;
+        this.collaborationDetails = collaborationDetails;
+    }
+
+    public String getInvolvedParties() { 
+        return involvedParties; 
+    }
+    
+    public void setInvolvedParties(String involvedParties) { 
+        change(() -> this.involvedParties = involvedParties);
+    }
+    
+    public String getCollaborationDetails() { 
+        return collaborationDetails; 
+    }
+    
+    public void setCollaborationDetails(String collaborationDetails) { 
+        change(() -> this.collaborationDetails = collaborationDetails);
+    }
+
+    private static final ReportTemplate<CollusionViolation> REPORT_TEMPLATE = ReportTemplate.compile("""
+            ==================================================
+                         COLLUSION CASE REPORT
+            ==================================================
+            Case ID: {recordID}
+            Student: {studentName} ({studentID})
+            Email: {email}
+            Department: {department}
+            Incident Date: {incidentDate}
+            Reporting Faculty: {reportingFaculty}
+            --------------------------------------------------
+            Gravity Level: {gravityLevel}/5
+            Current Status: {currentStatus}
+            Applied Sanction: {appliedSanction}
+            --------------------------------------------------
+            Incident Description:
+            {incidentDescription}
+            --------------------------------------------------
+            Supporting Evidence:
+            {supportingEvidence}
+            --------------------------------------------------
+            Collusion Details:
+            Involved Parties: {involvedParties}
+            Collaboration Details: {collaborationDetails}
+            ==================================================
+            """,
+            Violation.<CollusionViolation>commonReportFields()
+                    .add("involvedParties", (v, out) -> out.append(v.involvedParties))
+                    .add("collaborationDetails", (v, out) -> out.append(v.collaborationDetails)));
+
+    @Override
+    public void forEachSearchableText(Consumer<String> action) {
+        super.forEachSearchableText(action);
+        action.accept(involvedParties);
+        action.accept(collaborationDetails);
+    }
+
+    @Override
+    public String generateReport() {
+        return REPORT_TEMPLATE.render(this);
+    }
+
+    @Override
+    public void appendReport(Appendable out) throws IOException {
+        REPORT_TEMPLATE.render(this, out);
+    }
 }
\ No newline at end of file
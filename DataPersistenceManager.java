@@ -1,151 +1,706 @@
-import java.io.*;
-import java.time.LocalDateTime;
-
-public class DataPersistenceManager {
-    private static final String DATA_FILE = "aivt_data.ser";
-
-    /**
-     * Save CaseManager object to file
-     * @param caseManager The CaseManager instance to save
-     * @return true if save was successful, false otherwise
-     */
-    public static boolean saveData(CaseManager caseManager) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(caseManager);
-            System.out.println("Data saved successfully to " + DATA_FILE);
-
-            // --- NEW: Create readable text version if manual save ---
-            if (isManualSaveTriggered()) {
-                generateReadableTextFile(caseManager);
-            }
-
-            return true;
-        } catch (IOException e) {
-            System.out.println("Error saving data: " + e.getMessage());
-            return false;
-        }
-    }
-
-    /**
-     * Load CaseManager object from file
-     * @return CaseManager instance, or null if no data exists or error occurs
-     */
-    public static CaseManager loadData() {
-        File file = new File(DATA_FILE);
-        if (!file.exists()) {
-            System.out.println("No existing data file found. Starting with new CaseManager.");
-            return null;
-        }
-
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(DATA_FILE))) {
-            CaseManager caseManager = (CaseManager) ois.readObject();
-            System.out.println("Data loaded successfully from " + DATA_FILE);
-            System.out.println("Loaded " + caseManager.getTotalCases() + " cases.");
-            return caseManager;
-        } catch (IOException | ClassNotFoundException e) {
-            System.out.println("Error loading data: " + e.getMessage());
-            System.out.println("Starting with new CaseManager.");
-            return null;
-        }
-    }
-
-    /**
-     * Generate a human-readable text file with all cases (only during manual save)
-     */
-    private static void generateReadableTextFile(CaseManager caseManager) {
-        String txtFilename = DATA_FILE.replace(".ser", ".txt");
-        try (PrintWriter writer = new PrintWriter(new FileWriter(txtFilename))) {
-            writer.println("==================================================");
-            writer.println("  Academic Integrity Violation Tracker (AIVT) v2.0");
-            writer.println("==================================================");
-            writer.println("Generated on: " + LocalDateTime.now());
-            writer.println("Total Cases: " + caseManager.getTotalCases());
-            writer.println("==================================================\n");
-
-            for (Violation v : caseManager.getAllCases()) {
-                // Each Violation has a detailed report already
-                writer.println(v.generateReport());
-                writer.println("==================================================\n");
-            }
-
-            System.out.println("Readable data saved to " + txtFilename);
-        } catch (IOException e) {
-            System.out.println("Error generating readable text file: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Detect if the save was triggered manually from Option 11
-     */
-    private static boolean isManualSaveTriggered() {
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
-            if (element.getClassName().contains("AIVTApp")) {
-                // Option 11 is handled in AIVTApp — if present, assume manual save
-                return true;
-            }
-        }
-        return false;
-    }
-
-    public static boolean dataFileExists() {
-        return new File(DATA_FILE).exists();
-    }
-
-    public static String getDataFileInfo() {
-        File file = new File(DATA_FILE);
-        if (file.exists()) {
-            return "Data file: " + DATA_FILE + " (" + String.format("%.2f", file.length() / 1024.0) + " KB)";
-        }
-        return "No data file exists yet.";
-    }
-
-    public static boolean createBackup() {
-        File dataFile = new File(DATA_FILE);
-        if (!dataFile.exists()) {
-            System.out.println("No data file found to backup.");
-            return false;
-        }
-
-        String backupFile = DATA_FILE.replace(".ser", "_backup.ser");
-        try (FileInputStream fis = new FileInputStream(dataFile);
-             FileOutputStream fos = new FileOutputStream(backupFile)) {
-
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = fis.read(buffer)) > 0) {
-                fos.write(buffer, 0, length);
-            }
-            System.out.println("Backup created: " + backupFile);
-            return true;
-        } catch (IOException e) {
-            System.out.println("Error creating backup: " + e.getMessage());
-            return false;
-        }
-    }
-
-    public static boolean deleteDataFile() {
-        File file = new File(DATA_FILE);
-        if (file.exists()) {
-            if (file.delete()) {
-                System.out.println("Data file deleted: " + DATA_FILE);
-                return true;
-            } else {
-                System.out.println("Failed to delete data file: " + DATA_FILE);
-                return false;
-            }
-        }
-        System.out.println("Data file does not exist: " + DATA_FILE);
-        return false;
-    }
-
-    public static String getDataFileStats() {
-        File file = new File(DATA_FILE);
-        if (file.exists()) {
-            return "Data File Statistics:\n" +
-                    "  File: " + DATA_FILE + "\n" +
-                    "  Size: " + String.format("%.2f", file.length() / 1024.0) + " KB\n" +
-                    "  Last Modified: " + new java.util.Date(file.lastModified());
-        }
-        return "Data file does not exist.";
-    }
-}
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Saves and loads the case store.
+ *
+ * Snapshots use the binary format in ViolationCodec. An aivt_data.ser file
+ * from older versions is loaded once through Java serialization and
+ * rewritten in the new format.
+ *
+ * By default every mutation rewrites the whole snapshot. Journal mode
+ * (-Daivt.journal=true) instead appends one record per mutation to
+ * aivt_data.journal and folds the journal into a fresh snapshot every
+ * aivt.journal.compactAfter records. The fsync policy is set with
+ * aivt.journal.fsync=always|periodic|never. Periodic syncs at most
+ * aivt.journal.fsyncIntervalMs after an append: on a later append if one
+ * comes in time, otherwise from a background timer.
+ *
+ * With -Daivt.storage=mapped the snapshot is written as aivt_data.map (see
+ * MappedCaseStore) and opened without decoding the cases up front. A mapped
+ * file is only unmapped when the garbage collector frees it, and some
+ * platforms (Windows) refuse to replace it until then. The snapshot is then
+ * saved as aivt_data.map.next, which replaces aivt_data.map on the next
+ * start, before anything maps it.
+ *
+ * Write-behind mode (-Daivt.writeBehind=true) applies when the journal is
+ * off: snapshot rewrites move to a background thread that coalesces bursts
+ * of changes (see WriteBehindPersister).
+ *
+ * The full-text index (aivt_data.idx, see TextIndex) is written next to the
+ * snapshot whenever it has changed, so text search does not re-tokenize
+ * every case after a restart.
+ *
+ * The readable export (aivt_data.txt) is written by ReportExporter;
+ * -Daivt.export.gzip=true writes it gzip-compressed as aivt_data.txt.gz.
+ * Reports of unchanged cases are reused between exports (see ReportCache
+ * for -Daivt.export.cacheCapacity).
+ *
+ * All of these files live in the working directory, or in the directory
+ * given by -Daivt.dataDir.
+ */
+public class DataPersistenceManager {
+    private static final String DATA_FILE = "aivt_data.dat";
+    private static final String LEGACY_DATA_FILE = "aivt_data.ser";
+    private static final String MAPPED_FILE = "aivt_data.map";
+    private static final String NEXT_MAPPED_FILE = "aivt_data.map.next";
+    private static final String JOURNAL_FILE = "aivt_data.journal";
+    private static final String TEXT_FILE = "aivt_data.txt";
+    private static final String TEXT_INDEX_FILE = "aivt_data.idx";
+
+    // Journals written before the binary codec carry Java-serialized payloads
+    private static final byte RECORD_PUT_SERIALIZED = 1;
+    private static final byte RECORD_REMOVE = 2;
+    private static final byte RECORD_PUT = 3;
+    // Type, recordID, payload length and CRC around each payload
+    private static final int RECORD_OVERHEAD = 1 + 4 + 4 + 4;
+
+    public enum FsyncPolicy { ALWAYS, PERIODIC, NEVER }
+
+    /**
+     * What a save writes. AUTO is used after every mutation and only writes
+     * the snapshot; MANUAL also refreshes the readable text export;
+     * EXPORT_ONLY refreshes the text export without touching the snapshot.
+     */
+    public enum SaveMode { AUTO, MANUAL, EXPORT_ONLY }
+
+    private static boolean mappedStorage = "mapped".equalsIgnoreCase(System.getProperty("aivt.storage"));
+    private static boolean journalEnabled = Boolean.getBoolean("aivt.journal");
+    private static FsyncPolicy fsyncPolicy = parseFsyncPolicy(System.getProperty("aivt.journal.fsync"));
+    private static long fsyncIntervalMillis = Long.getLong("aivt.journal.fsyncIntervalMs", 1000L);
+    private static int compactAfterRecords = Integer.getInteger("aivt.journal.compactAfter", 1000);
+    private static boolean writeBehindEnabled = Boolean.getBoolean("aivt.writeBehind");
+    private static long writeBehindIntervalMillis = Long.getLong("aivt.writeBehind.intervalMs", 2000L);
+    private static int writeBehindMaxDirty = Integer.getInteger("aivt.writeBehind.maxDirty", 100);
+    private static boolean exportGzip = Boolean.getBoolean("aivt.export.gzip");
+    private static Path dataDirectory = Paths.get(System.getProperty("aivt.dataDir", ""));
+
+    private static FileOutputStream journalStream;
+    private static DataOutputStream journalOut;
+    private static int journalRecords;
+    private static long lastFsyncMillis;
+    // Appended records not yet fsynced, and whether the timer will sync them
+    private static boolean journalUnsynced;
+    private static boolean syncScheduled;
+    private static ScheduledExecutorService syncTimer;
+
+    // A misspelt policy falls back to the default instead of stopping startup
+    private static FsyncPolicy parseFsyncPolicy(String value) {
+        if (value == null) return FsyncPolicy.PERIODIC;
+        try {
+            return FsyncPolicy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Warning: unknown aivt.journal.fsync value \"" + value + "\", using periodic.");
+            return FsyncPolicy.PERIODIC;
+        }
+    }
+
+    /**
+     * Save CaseManager object to file
+     * @param caseManager The CaseManager instance to save
+     * @return true if save was successful, false otherwise
+     */
+    public static boolean saveData(CaseManager caseManager) {
+        return saveData(caseManager, SaveMode.AUTO);
+    }
+
+    /**
+     * Save CaseManager object to file and/or the readable text export
+     * @param caseManager The CaseManager instance to save
+     * @param mode Which outputs to write
+     * @return true if save was successful, false otherwise
+     */
+    public static synchronized boolean saveData(CaseManager caseManager, SaveMode mode) {
+        if (mode == SaveMode.EXPORT_ONLY) {
+            return generateReadableTextFile(caseManager);
+        }
+        String dataFile = currentDataFile();
+        Path tempFile = path(dataFile + ".tmp");
+        try {
+            if (mappedStorage) {
+                MappedCaseStore.write(tempFile, caseManager.getAllCases(), caseManager.getNextCaseId());
+            } else {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(tempFile.toFile()), 1 << 16))) {
+                    ViolationCodec.writeSnapshot(out, caseManager.getAllCases(), caseManager.getNextCaseId());
+                }
+            }
+            // Replace the snapshot atomically so a crash never leaves a half-written file
+            try {
+                Files.move(tempFile, path(dataFile),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileSystemException e) {
+                if (!mappedStorage) throw e;
+                // The store is still mapped; the next start switches to this generation
+                dataFile = NEXT_MAPPED_FILE;
+                Files.move(tempFile, path(dataFile),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            // Older generations and a snapshot in the other format are now stale
+            if (!dataFile.equals(NEXT_MAPPED_FILE)) {
+                Files.deleteIfExists(path(NEXT_MAPPED_FILE));
+            }
+            Files.deleteIfExists(path(mappedStorage ? DATA_FILE : MAPPED_FILE));
+            // The snapshot now covers everything the journal recorded
+            resetJournal();
+            System.out.println("Data saved successfully to " + dataFile);
+            saveTextIndex(caseManager);
+
+            if (mode == SaveMode.MANUAL) {
+                generateReadableTextFile(caseManager);
+            }
+
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load CaseManager object from file
+     * @return CaseManager instance, or null if no data exists or error occurs
+     * @throws UncheckedIOException if the journal holds an intact record that
+     *         cannot be decoded; the journal is left as it is
+     */
+    public static CaseManager loadData() {
+        promoteNextMappedFile();
+        File file = file(DATA_FILE);
+        String mappedName = file(NEXT_MAPPED_FILE).exists() ? NEXT_MAPPED_FILE : MAPPED_FILE;
+        File mappedFile = file(mappedName);
+        File legacyFile = file(LEGACY_DATA_FILE);
+        File journal = file(JOURNAL_FILE);
+        if (!file.exists() && !mappedFile.exists() && !legacyFile.exists() && !journal.exists()) {
+            System.out.println("No existing data file found. Starting with new CaseManager.");
+            return null;
+        }
+
+        CaseManager caseManager;
+        boolean migrating = false;
+        if (mappedFile.exists() && (mappedStorage || !file.exists())) {
+            try {
+                MappedCaseStore store = MappedCaseStore.open(mappedFile.toPath());
+                caseManager = new CaseManager(store.readAll(), store.getNextCaseId());
+                System.out.println("Data loaded successfully from " + mappedName);
+                migrating = !mappedStorage;
+            } catch (IOException e) {
+                System.out.println("Error loading data: " + e.getMessage());
+                System.out.println("Starting with new CaseManager.");
+                return null;
+            }
+        } else if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file(DATA_FILE)), 1 << 16))) {
+                caseManager = ViolationCodec.readSnapshot(in);
+                System.out.println("Data loaded successfully from " + DATA_FILE);
+                migrating = mappedStorage;
+            } catch (IOException e) {
+                System.out.println("Error loading data: " + e.getMessage());
+                System.out.println("Starting with new CaseManager.");
+                return null;
+            }
+        } else if (legacyFile.exists()) {
+            caseManager = loadLegacyData();
+            if (caseManager == null) {
+                System.out.println("Starting with new CaseManager.");
+                return null;
+            }
+            migrating = true;
+        } else {
+            caseManager = new CaseManager(new java.util.ArrayList<>(), 1000);
+        }
+
+        if (journal.exists()) {
+            replayJournal(caseManager);
+        }
+        if (migrating && saveData(caseManager)) {
+            System.out.println("Migrated case store to " + currentDataFile() + ".");
+        }
+        System.out.println("Loaded " + caseManager.getTotalCases() + " cases.");
+        return caseManager;
+    }
+
+    /**
+     * Write the case manager's text index, if it has one with unsaved changes
+     * @return false if writing failed
+     */
+    public static synchronized boolean saveTextIndex(CaseManager caseManager) {
+        Path tempFile = path(TEXT_INDEX_FILE + ".tmp");
+        try {
+            boolean written;
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile.toFile()), 1 << 16))) {
+                written = caseManager.writeTextIndex(out);
+            }
+            if (written) {
+                Files.move(tempFile, path(TEXT_INDEX_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.deleteIfExists(tempFile);
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error saving text index: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load the saved text index. It may be behind the cases; callers
+     * reconcile it with TextIndex.put and retainAll.
+     * @return the index, or null if none is saved or it cannot be read
+     */
+    public static TextIndex loadTextIndex() {
+        File file = file(TEXT_INDEX_FILE);
+        if (!file.exists()) return null;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+            return TextIndex.read(in);
+        } catch (IOException e) {
+            System.out.println("Error loading text index, rebuilding: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Open the mapped store for lazy access
+     * @return the store, or null if mapped storage is off, no store file exists,
+     *         or a pending journal means the cases must be loaded eagerly
+     */
+    public static MappedCaseStore openMappedStore() {
+        if (!mappedStorage) return null;
+        promoteNextMappedFile();
+        String dataFile = savedDataFile();
+        if (!file(dataFile).exists() || file(JOURNAL_FILE).exists()) {
+            return null;
+        }
+        try {
+            MappedCaseStore store = MappedCaseStore.open(path(dataFile));
+            System.out.println("Opened " + store.size() + " cases from " + dataFile + " (decoded on demand).");
+            return store;
+        } catch (IOException e) {
+            System.out.println("Error opening mapped store: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Switch to a mapped snapshot saved while the previous one was still mapped
+    private static void promoteNextMappedFile() {
+        if (!file(NEXT_MAPPED_FILE).exists()) return;
+        try {
+            Files.move(path(NEXT_MAPPED_FILE), path(MAPPED_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Error replacing " + MAPPED_FILE + " with " + NEXT_MAPPED_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static File file(String name) {
+        return dataDirectory.resolve(name).toFile();
+    }
+
+    private static Path path(String name) {
+        return dataDirectory.resolve(name);
+    }
+
+    private static String currentDataFile() {
+        return mappedStorage ? MAPPED_FILE : DATA_FILE;
+    }
+
+    // The newest snapshot, which may be a generation still waiting to be promoted
+    private static String savedDataFile() {
+        return mappedStorage && file(NEXT_MAPPED_FILE).exists() ? NEXT_MAPPED_FILE : currentDataFile();
+    }
+
+    // One-time migration path for stores written with Java serialization
+    private static CaseManager loadLegacyData() {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(file(LEGACY_DATA_FILE))))) {
+            CaseManager snapshot = (CaseManager) ois.readObject();
+            System.out.println("Data loaded successfully from " + LEGACY_DATA_FILE);
+            return new CaseManager(snapshot.getAllCases(), snapshot.getNextCaseId());
+        } catch (IOException | ClassNotFoundException e) {
+            System.out.println("Error loading data: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * One journal record, encoded by CaseManager while it still holds the
+     * lock around the change, so the payload never mixes two states of a case
+     */
+    static final class JournalRecord {
+        private final byte type;
+        private final int recordID;
+        private final byte[] payload;
+
+        private JournalRecord(byte type, int recordID, byte[] payload) {
+            this.type = type;
+            this.recordID = recordID;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * @return a record of the case as it is now: added, or modified
+     */
+    static JournalRecord putRecord(Violation violation) {
+        try {
+            return new JournalRecord(RECORD_PUT, violation.getRecordID(), ViolationCodec.encode(violation));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error encoding case " + violation.getRecordID(), e);
+        }
+    }
+
+    /**
+     * @return a record of the removal of a case
+     */
+    static JournalRecord removalRecord(int recordID) {
+        return new JournalRecord(RECORD_REMOVE, recordID, new byte[0]);
+    }
+
+    /**
+     * Append records to the journal in the given order with a single flush
+     * and fsync decision, compacting at most once
+     * @return true if every record was written, false otherwise
+     */
+    public static synchronized boolean appendToJournal(CaseManager caseManager, List<JournalRecord> records) {
+        try {
+            openJournal();
+            // Record layout: type, recordID, payload length, payload, CRC32 of all preceding fields
+            for (JournalRecord record : records) {
+                writeRecord(record.type, record.recordID, record.payload);
+            }
+            journalOut.flush();
+            syncJournal(false);
+        } catch (IOException e) {
+            System.out.println("Error writing journal: " + e.getMessage());
+            return false;
+        }
+        journalRecords += records.size();
+        if (journalRecords >= compactAfterRecords) {
+            return saveData(caseManager);
+        }
+        return true;
+    }
+
+    private static void openJournal() throws IOException {
+        if (journalOut == null) {
+            journalStream = new FileOutputStream(file(JOURNAL_FILE), true);
+            journalOut = new DataOutputStream(new BufferedOutputStream(journalStream));
+        }
+    }
+
+    private static void writeRecord(byte type, int recordID, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(intBytes(recordID));
+        crc.update(intBytes(payload.length));
+        crc.update(payload);
+
+        journalOut.writeByte(type);
+        journalOut.writeInt(recordID);
+        journalOut.writeInt(payload.length);
+        journalOut.write(payload);
+        journalOut.writeInt((int) crc.getValue());
+    }
+
+    private static void syncJournal(boolean force) throws IOException {
+        long now = System.currentTimeMillis();
+        boolean due = fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.PERIODIC && now - lastFsyncMillis >= fsyncIntervalMillis);
+        if (force || due) {
+            journalStream.getFD().sync();
+            lastFsyncMillis = now;
+            journalUnsynced = false;
+        } else {
+            journalUnsynced = true;
+            if (fsyncPolicy == FsyncPolicy.PERIODIC) {
+                scheduleSync(fsyncIntervalMillis - (now - lastFsyncMillis));
+            }
+        }
+    }
+
+    // Makes sure records appended just before the log goes idle are still
+    // synced within the interval
+    private static void scheduleSync(long delayMillis) {
+        if (syncScheduled) return;
+        if (syncTimer == null) {
+            syncTimer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "aivt-journal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        syncScheduled = true;
+        syncTimer.schedule(DataPersistenceManager::syncPendingJournal, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+    }
+
+    private static synchronized void syncPendingJournal() {
+        syncScheduled = false;
+        if (journalOut == null || !journalUnsynced) return;
+        try {
+            syncJournal(true);
+        } catch (IOException e) {
+            System.out.println("Error syncing journal: " + e.getMessage());
+        }
+    }
+
+    private static void resetJournal() throws IOException {
+        closeJournal();
+        Files.deleteIfExists(path(JOURNAL_FILE));
+        journalRecords = 0;
+    }
+
+    /**
+     * Flush and fsync any buffered journal records and close the log
+     */
+    public static synchronized void closeJournal() throws IOException {
+        if (journalOut != null) {
+            journalOut.flush();
+            syncJournal(fsyncPolicy != FsyncPolicy.NEVER);
+            journalOut.close();
+            journalOut = null;
+            journalStream = null;
+            journalUnsynced = false;
+        }
+    }
+
+    // Reads records until the end of the log or the first torn/corrupt record,
+    // which is cut off so later appends start from a clean tail. A record that
+    // passes its CRC but cannot be decoded is not damage and is never cut off.
+    private static void replayJournal(CaseManager caseManager) {
+        Map<Integer, Violation> changes = new LinkedHashMap<>();
+        long fileLength = file(JOURNAL_FILE).length();
+        long validLength = 0;
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file(JOURNAL_FILE))))) {
+            while (true) {
+                int type = in.read();
+                if (type < 0) break;
+                int recordID = in.readInt();
+                int length = in.readInt();
+                // A length running past the end of the file can only be a corrupt header
+                if (length < 0 || length > fileLength - validLength - RECORD_OVERHEAD) break;
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int storedCrc = in.readInt();
+
+                CRC32 crc = new CRC32();
+                crc.update(type);
+                crc.update(intBytes(recordID));
+                crc.update(intBytes(length));
+                crc.update(payload);
+                if ((int) crc.getValue() != storedCrc) break;
+
+                changes.put(recordID, decodeRecord(type, recordID, payload, validLength));
+                validLength += RECORD_OVERHEAD + length;
+                records++;
+            }
+        } catch (EOFException e) {
+            // Torn final record from an interrupted write; ignore it
+        } catch (IOException e) {
+            System.out.println("Error replaying journal: " + e.getMessage());
+        }
+
+        try (FileChannel channel = FileChannel.open(path(JOURNAL_FILE),
+                java.nio.file.StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                System.out.println("Discarding incomplete journal tail after " + records + " records.");
+                channel.truncate(validLength);
+            }
+        } catch (IOException e) {
+            System.out.println("Error truncating journal: " + e.getMessage());
+        }
+
+        caseManager.applyJournalChanges(changes);
+        journalRecords = records;
+        System.out.println("Replayed " + records + " journal records from " + JOURNAL_FILE);
+    }
+
+    // Decodes a record whose CRC matched. Failing here means the record was
+    // written by an incompatible version, so loading stops with the journal intact.
+    private static Violation decodeRecord(int type, int recordID, byte[] payload, long offset) {
+        try {
+            if (type == RECORD_PUT) {
+                return ViolationCodec.decode(payload);
+            } else if (type == RECORD_PUT_SERIALIZED) {
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                    return (Violation) ois.readObject();
+                }
+            } else if (type == RECORD_REMOVE) {
+                return null;
+            }
+            throw new IOException("unknown record type " + type);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            throw new UncheckedIOException(new IOException("Journal record for case " + recordID
+                    + " at offset " + offset + " in " + JOURNAL_FILE + " cannot be decoded ("
+                    + e.getMessage() + "); the journal was left unchanged", e));
+        }
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    /**
+     * Keep the data files in another directory from now on. An open journal
+     * is closed first, so later appends go to the new directory.
+     */
+    public static synchronized void setDataDirectory(Path directory) throws IOException {
+        closeJournal();
+        journalRecords = 0;
+        dataDirectory = directory;
+    }
+
+    public static boolean isJournalEnabled() {
+        return journalEnabled;
+    }
+
+    public static void setJournalEnabled(boolean enabled) {
+        journalEnabled = enabled;
+    }
+
+    public static void setFsyncPolicy(FsyncPolicy policy) {
+        fsyncPolicy = policy;
+    }
+
+    public static void setCompactAfterRecords(int records) {
+        compactAfterRecords = Math.max(1, records);
+    }
+
+    public static void setExportGzip(boolean gzip) {
+        exportGzip = gzip;
+    }
+
+    public static boolean isWriteBehindEnabled() {
+        return writeBehindEnabled;
+    }
+
+    public static void setWriteBehindEnabled(boolean enabled) {
+        writeBehindEnabled = enabled;
+    }
+
+    public static long getWriteBehindIntervalMillis() {
+        return writeBehindIntervalMillis;
+    }
+
+    public static void setWriteBehindIntervalMillis(long intervalMillis) {
+        writeBehindIntervalMillis = Math.max(1, intervalMillis);
+    }
+
+    public static int getWriteBehindMaxDirty() {
+        return writeBehindMaxDirty;
+    }
+
+    public static void setWriteBehindMaxDirty(int maxDirty) {
+        writeBehindMaxDirty = Math.max(1, maxDirty);
+    }
+
+    /**
+     * Generate a human-readable text file with all cases (manual and export-only saves).
+     * Reports are streamed to the file; those of cases unchanged since the previous
+     * export come from the report cache.
+     */
+    private static boolean generateReadableTextFile(CaseManager caseManager) {
+        String txtFilename = exportGzip ? TEXT_FILE + ".gz" : TEXT_FILE;
+        try {
+            ReportExporter.export(caseManager, path(txtFilename), exportGzip, caseManager.getReportCache());
+            System.out.println("Readable data saved to " + txtFilename);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error generating readable text file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean dataFileExists() {
+        return file(DATA_FILE).exists() || file(MAPPED_FILE).exists() || file(NEXT_MAPPED_FILE).exists()
+                || file(LEGACY_DATA_FILE).exists() || file(JOURNAL_FILE).exists();
+    }
+
+    public static String getDataFileInfo() {
+        String dataFile = savedDataFile();
+        File file = file(dataFile);
+        if (file.exists()) {
+            return "Data file: " + dataFile + " (" + String.format("%.2f", file.length() / 1024.0) + " KB)";
+        }
+        return "No data file exists yet.";
+    }
+
+    public static boolean createBackup() {
+        File dataFile = file(savedDataFile());
+        if (!dataFile.exists()) {
+            System.out.println("No data file found to backup.");
+            return false;
+        }
+
+        String backupFile = currentDataFile().replace("aivt_data", "aivt_data_backup");
+        try (FileInputStream fis = new FileInputStream(dataFile);
+             FileOutputStream fos = new FileOutputStream(file(backupFile))) {
+
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = fis.read(buffer)) > 0) {
+                fos.write(buffer, 0, length);
+            }
+            System.out.println("Backup created: " + backupFile);
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error creating backup: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public static boolean deleteDataFile() {
+        try {
+            resetJournal();
+        } catch (IOException e) {
+            System.out.println("Error deleting journal: " + e.getMessage());
+        }
+        // Otherwise the legacy store would be migrated again on next start
+        file(LEGACY_DATA_FILE).delete();
+        file(TEXT_INDEX_FILE).delete();
+        file(NEXT_MAPPED_FILE).delete();
+        file(mappedStorage ? DATA_FILE : MAPPED_FILE).delete();
+        String dataFile = currentDataFile();
+        File file = file(dataFile);
+        if (file.exists()) {
+            if (file.delete()) {
+                System.out.println("Data file deleted: " + dataFile);
+                return true;
+            } else {
+                System.out.println("Failed to delete data file: " + dataFile);
+                return false;
+            }
+        }
+        System.out.println("Data file does not exist: " + dataFile);
+        return false;
+    }
+
+    public static String getDataFileStats() {
+        String dataFile = currentDataFile();
+        File file = file(dataFile);
+        if (file.exists()) {
+            return "Data File Statistics:\n" +
+                    "  File: " + dataFile + "\n" +
+                    "  Size: " + String.format("%.2f", file.length() / 1024.0) + " KB\n" +
+                    "  Last Modified: " + new java.util.Date(file.lastModified());
+        }
+        return "Data file does not exist.";
+    }
+}
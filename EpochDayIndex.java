@@ -0,0 +1,73 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Cases grouped by one of their dates, keyed by epoch day, for date-range
+ * lookups. Cases on the same day are kept in record ID order. Cases
+ * without the date are not indexed. Not thread-safe; CaseManager guards
+ * it with its lock.
+ */
+public class EpochDayIndex {
+    private final NavigableMap<Long, List<Violation>> byDay = new TreeMap<>();
+    private int size;
+
+    public void add(LocalDate date, Violation violation) {
+        if (date == null) return;
+        List<Violation> day = byDay.computeIfAbsent(date.toEpochDay(), k -> new ArrayList<>(2));
+        int position = day.size();
+        while (position > 0 && day.get(position - 1).getRecordID() > violation.getRecordID()) {
+            position--;
+        }
+        day.add(position, violation);
+        size++;
+    }
+
+    public void remove(LocalDate date, Violation violation) {
+        if (date == null) return;
+        List<Violation> day = byDay.get(date.toEpochDay());
+        if (day != null && day.remove(violation)) {
+            size--;
+            if (day.isEmpty()) byDay.remove(date.toEpochDay());
+        }
+    }
+
+    /**
+     * Cases dated within [from, to], in date order
+     * @param from First day to include, or null for no lower bound
+     * @param to Last day to include, or null for no upper bound
+     */
+    public List<Violation> range(LocalDate from, LocalDate to) {
+        NavigableMap<Long, List<Violation>> days = days(from, to);
+        List<Violation> result = new ArrayList<>();
+        for (List<Violation> day : days.values()) {
+            result.addAll(day);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of cases dated within [from, to]
+     */
+    public int count(LocalDate from, LocalDate to) {
+        if (from == null && to == null) return size;
+        int count = 0;
+        for (List<Violation> day : days(from, to).values()) {
+            count += day.size();
+        }
+        return count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private NavigableMap<Long, List<Violation>> days(LocalDate from, LocalDate to) {
+        long low = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long high = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        if (low > high) return new TreeMap<>();
+        return byDay.subMap(low, true, high, true);
+    }
+}
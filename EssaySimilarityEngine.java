@@ -0,0 +1,338 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Near-duplicate detection across a cohort of essays.
+ *
+ * Each essay becomes the set of its word shingles (runs of consecutive
+ * words, lower-cased, punctuation ignored). Shingles found in too many
+ * essays, such as a quoted prompt, are treated as boilerplate and dropped.
+ * A MinHash signature summarizes each set so that two signatures agree in
+ * any position with probability equal to the sets' Jaccard similarity.
+ * Signatures are cut into bands and essays sharing a whole band land in
+ * the same bucket, so only essays colliding in some band become candidate
+ * pairs instead of all N^2 pairs. Candidates are then compared exactly on
+ * their shingle sets. Signatures and candidate checks run in parallel when
+ * more than one processor is available.
+ *
+ * Cases are opened on containment, not Jaccard: a short essay copied into
+ * a long one has a low Jaccard similarity to it. A containment c between
+ * essays at most MAX_SIZE_RATIO times apart in size implies a Jaccard
+ * similarity of at least c / (1 + MAX_SIZE_RATIO - c), and by default the
+ * bands are sized in compare() so a pair at that bound becomes a candidate
+ * with probability 0.99 (40 single-row bands at 50%). Pairs further apart
+ * in size are found less reliably, e.g. a 50% containment 8 times apart
+ * with probability 0.91.
+ *
+ * An essay's similarity to another is the share of its shingles found in
+ * the other one. Students whose best match reaches the threshold get a
+ * PlagiarismViolation naming that match, with the matched word ranges as
+ * evidence (see SimilarityEngine).
+ *
+ * Usage: java EssaySimilarityEngine <manifest.csv> <faculty> [threshold%]
+ * (see CohortManifest)
+ */
+public class EssaySimilarityEngine extends SimilarityEngine<EssaySimilarityEngine.Essay> {
+    public static final int DEFAULT_SHINGLE_WORDS = 5;
+    public static final double DEFAULT_THRESHOLD = 50.0;
+    // Size ratio up to which the default bands find pairs at the threshold
+    public static final double MAX_SIZE_RATIO = 4.0;
+    private static final double TARGET_RECALL = 0.99;
+    private static final int MAX_BANDS = 512;
+    // Essays with fewer shingles are too short to judge
+    private static final int MIN_SHINGLES = 10;
+    private static final long SEED = 0x5EED_E55A_4D15L;
+
+    private final int shingleWords;
+    // 0 when the bands are sized from the similarity compared for
+    private final int fixedBands;
+    private final int rows;
+    // Per-position multiplier (odd) and offset of the MinHash permutations
+    private long[] multipliers;
+    private long[] offsets;
+    // The cohort (SimilarityEngine.documents)
+    private final List<Essay> essays = documents;
+
+    /**
+     * One student's essay in the cohort
+     */
+    public static class Essay extends SimilarityEngine.Document {
+        private final String text;
+        // Distinct shingle hashes in ascending order, with the word each one starts at
+        private long[] shingles;
+        private int[] positions;
+        private long[] signature;
+
+        Essay(Student student, String label, String text) {
+            super(student, label);
+            this.text = text;
+        }
+
+        public int getShingleCount() {
+            return shingles == null ? 0 : shingles.length;
+        }
+
+        @Override
+        protected int featureCount() {
+            return getShingleCount();
+        }
+    }
+
+    public EssaySimilarityEngine(CaseManager caseManager) {
+        super(caseManager, DEFAULT_THRESHOLD);
+        this.shingleWords = DEFAULT_SHINGLE_WORDS;
+        this.fixedBands = 0;
+        this.rows = 1;
+    }
+
+    /**
+     * @param shingleWords Words per shingle
+     * @param bands LSH bands; more bands find less similar pairs
+     * @param rows Signature rows per band; more rows make candidates stricter
+     */
+    public EssaySimilarityEngine(CaseManager caseManager, int shingleWords, int bands, int rows) {
+        super(caseManager, DEFAULT_THRESHOLD);
+        if (shingleWords < 1 || bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("shingleWords, bands and rows must be positive");
+        }
+        this.shingleWords = shingleWords;
+        this.fixedBands = bands;
+        this.rows = rows;
+    }
+
+    public void addEssay(Student student, String label, String text) {
+        essays.add(new Essay(student, label, text));
+    }
+
+    /**
+     * Add every essay listed in a cohort manifest
+     */
+    @Override
+    public void loadManifest(Path manifest) throws IOException {
+        for (CohortManifest.Entry entry : CohortManifest.read(manifest, caseManager)) {
+            addEssay(entry.getStudent(), entry.getFile(), entry.readText());
+        }
+    }
+
+    public List<Essay> getEssays() {
+        return essays;
+    }
+
+    /**
+     * Find similar essays through LSH candidates, checked exactly
+     * @return candidate pairs of different students with a similarity at or
+     *         above minSimilarity on either side, most similar first
+     */
+    @Override
+    public List<Match<Essay>> compare(double minSimilarity) {
+        int bands = fixedBands > 0 ? fixedBands : bandsFor(minSimilarity / 100);
+        permutations(bands * rows);
+        boolean parallel = Runtime.getRuntime().availableProcessors() > 1;
+        IntStream indexes = IntStream.range(0, essays.size());
+        (parallel ? indexes.parallel() : indexes).forEach(i -> shingle(essays.get(i)));
+
+        // Boilerplate counts neither as a match nor towards an essay's size
+        Map<Long, Integer> frequencies = new HashMap<>();
+        for (Essay essay : essays) {
+            for (long shingle : essay.shingles) {
+                frequencies.merge(shingle, 1, Integer::sum);
+            }
+        }
+        int maxEssays = Math.max(2, (int) (maxShare * essays.size()));
+        Set<Long> boilerplate = new HashSet<>();
+        frequencies.forEach((shingle, frequency) -> {
+            if (frequency > maxEssays) boilerplate.add(shingle);
+        });
+        IntStream signed = IntStream.range(0, essays.size());
+        (parallel ? signed.parallel() : signed).forEach(i -> {
+            Essay essay = essays.get(i);
+            if (!boilerplate.isEmpty()) removeShingles(essay, boilerplate);
+            essay.signature = signature(essay.shingles);
+        });
+
+        long[] candidates = candidatePairs(bands);
+        IntStream checks = IntStream.range(0, candidates.length);
+        return (parallel ? checks.parallel() : checks)
+                .mapToObj(c -> check(essays.get((int) (candidates[c] >>> 32)), essays.get((int) candidates[c])))
+                .filter(match -> match != null && match.getMaxSimilarity() >= minSimilarity)
+                .sorted(MOST_SIMILAR_FIRST)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Violation toViolation(Essay essay, Essay source, double similarity, String evidence,
+                                    String faculty, LocalDate incidentDate) {
+        String description = String.format(Locale.ROOT,
+                "Cross-submission essay check flagged %s: %.1f%% of its word sequences match %s (%s).",
+                essay.label, similarity, source.label, source.student.getStudentID());
+
+        return new PlagiarismViolation(essay.student, MisconductType.PLAGIARISM.getLabel(), incidentDate, faculty,
+                gravityFor(similarity), CaseStatus.PENDING.getLabel(), Sanction.NONE.getLabel(), description, 0,
+                evidence, source.label + " (" + source.student.getStudentID() + ")",
+                Math.round(similarity * 10) / 10.0);
+    }
+
+    // Exact overlap of two candidates' shingle sets; null if not worth reporting
+    private static Match<Essay> check(Essay first, Essay second) {
+        if (first.shingles.length < MIN_SHINGLES || second.shingles.length < MIN_SHINGLES
+                || first.student.getStudentID().equals(second.student.getStudentID())) {
+            return null;
+        }
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.shingles.length && j < second.shingles.length) {
+            if (first.shingles[i] < second.shingles[j]) {
+                i++;
+            } else if (first.shingles[i] > second.shingles[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared == 0 ? null : new Match<>(first, second, shared);
+    }
+
+    /**
+     * Essays whose signatures agree on all rows of at least one band
+     * @return distinct pairs as (first index << 32 | second index), first < second
+     */
+    private long[] candidatePairs(int bands) {
+        Set<Long> pairs = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < essays.size(); i++) {
+                Essay essay = essays.get(i);
+                if (essay.shingles.length < MIN_SHINGLES) continue;
+                long key = band;
+                for (int row = band * rows; row < (band + 1) * rows; row++) {
+                    key = mix(key * 31 + essay.signature[row]);
+                }
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        pairs.add((long) bucket.get(a) << 32 | bucket.get(b));
+                    }
+                }
+            }
+        }
+        return pairs.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    // Single-row bands enough to find a pair at the lowest Jaccard the containment allows
+    private static int bandsFor(double containment) {
+        double jaccard = containment / (1 + MAX_SIZE_RATIO - containment);
+        if (jaccard <= 0) return MAX_BANDS;
+        double bands = Math.ceil(Math.log(1 - TARGET_RECALL) / Math.log(1 - Math.min(jaccard, 0.99)));
+        return (int) Math.min(bands, MAX_BANDS);
+    }
+
+    // The first count permutations of the seeded sequence, so signatures are repeatable
+    private void permutations(int count) {
+        if (multipliers != null && multipliers.length == count) return;
+        Random random = new Random(SEED);
+        multipliers = new long[count];
+        offsets = new long[count];
+        for (int i = 0; i < count; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    // Minimum of each permutation over the shingles
+    private long[] signature(long[] shingles) {
+        long[] signature = new long[multipliers.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < signature.length; i++) {
+                long permuted = mix(multipliers[i] * shingle + offsets[i]);
+                if (permuted < signature[i]) signature[i] = permuted;
+            }
+        }
+        return signature;
+    }
+
+    private void shingle(Essay essay) {
+        List<Long> words = new ArrayList<>();
+        int start = -1;
+        String text = essay.text;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(mix(text.substring(start, i).toLowerCase(Locale.ROOT).hashCode()));
+                start = -1;
+            }
+        }
+
+        Map<Long, Integer> firstPositions = new HashMap<>();
+        for (int w = 0; w + shingleWords <= words.size(); w++) {
+            long hash = 0;
+            for (int k = w; k < w + shingleWords; k++) {
+                hash = mix(hash * 31 + words.get(k));
+            }
+            firstPositions.putIfAbsent(hash, w);
+        }
+        essay.shingles = firstPositions.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        essay.positions = new int[essay.shingles.length];
+        for (int i = 0; i < essay.shingles.length; i++) {
+            essay.positions[i] = firstPositions.get(essay.shingles[i]);
+        }
+    }
+
+    private static void removeShingles(Essay essay, Set<Long> excluded) {
+        int kept = 0;
+        for (int i = 0; i < essay.shingles.length; i++) {
+            if (!excluded.contains(essay.shingles[i])) {
+                essay.shingles[kept] = essay.shingles[i];
+                essay.positions[kept++] = essay.positions[i];
+            }
+        }
+        essay.shingles = Arrays.copyOf(essay.shingles, kept);
+        essay.positions = Arrays.copyOf(essay.positions, kept);
+    }
+
+    // Word ranges (1-based) of the essay covered by shingles also in other, e.g. "words 12-80, 140-166"
+    @Override
+    protected String matchedRanges(Essay essay, Essay other) {
+        List<Integer> starts = new ArrayList<>();
+        int j = 0;
+        for (int i = 0; i < essay.shingles.length; i++) {
+            while (j < other.shingles.length && other.shingles[j] < essay.shingles[i]) j++;
+            if (j < other.shingles.length && other.shingles[j] == essay.shingles[i]) starts.add(essay.positions[i]);
+        }
+        starts.sort(null);
+        StringBuilder ranges = new StringBuilder();
+        int k = 0;
+        while (k < starts.size()) {
+            int first = starts.get(k);
+            int last = first;
+            while (k + 1 < starts.size() && starts.get(k + 1) <= last + shingleWords) last = starts.get(++k);
+            k++;
+            if (ranges.length() > 0) ranges.append(", ");
+            ranges.append(first + 1).append('-').append(last + shingleWords);
+        }
+        return "words " + ranges;
+    }
+
+    public static void main(String[] args) throws IOException {
+        run(args, "EssaySimilarityEngine", "essays", EssaySimilarityEngine::new);
+    }
+}
@@ -1,11 +1,11 @@
-public class InvalidViolationException extends Exception {
-    private static final long serialVersionUID = 1L;
-
-    public InvalidViolationException(String message) {
-        super(message);
-    }
-
-    public InvalidViolationException(String message, Throwable cause) {
-        super(message, cause);
-    }
+public class InvalidViolationException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidViolationException(String message) {
+        super(message);
+    }
+
+    public InvalidViolationException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
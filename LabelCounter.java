@@ -0,0 +1,56 @@
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Running counts per enum-coded label. Legacy labels outside the enum are
+ * counted separately under their raw text.
+ */
+public class LabelCounter<E extends Enum<E>> {
+    private static final String NO_LABEL = "(none)";
+
+    private final E[] constants;
+    private final int[] counts;
+    private final Map<String, Integer> otherCounts = new TreeMap<>();
+
+    public LabelCounter(Class<E> type) {
+        this.constants = type.getEnumConstants();
+        this.counts = new int[constants.length];
+    }
+
+    /**
+     * Adjust the count for one case
+     * @param code The enum code, or null for a legacy label
+     * @param label The raw label, used when code is null
+     * @param delta +1 when a case is added, -1 when it is removed
+     */
+    public void add(E code, String label, int delta) {
+        if (code != null) {
+            counts[code.ordinal()] += delta;
+            return;
+        }
+        String key = label == null ? NO_LABEL : label;
+        int updated = otherCounts.getOrDefault(key, 0) + delta;
+        if (updated == 0) {
+            otherCounts.remove(key);
+        } else {
+            otherCounts.put(key, updated);
+        }
+    }
+
+    public int get(E code) {
+        return counts[code.ordinal()];
+    }
+
+    /**
+     * Visit every non-zero count, enum constants first in declaration order
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        for (E constant : constants) {
+            if (counts[constant.ordinal()] != 0) {
+                action.accept(constant.toString(), counts[constant.ordinal()]);
+            }
+        }
+        otherCounts.forEach(action::accept);
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * An enum constant shown to users by a display label. The static helpers
+ * give every such enum the same label lookup.
+ */
+public interface Labeled {
+    String getLabel();
+
+    /**
+     * Match a display label, ignoring case and surrounding spaces
+     * @param values The enum's constants
+     * @return the matching constant, or null for labels outside the known set
+     */
+    static <E extends Enum<E> & Labeled> E fromLabel(E[] values, String label) {
+        if (label == null) return null;
+        String trimmed = label.trim();
+        for (E value : values) {
+            if (value.getLabel().equalsIgnoreCase(trimmed)) return value;
+        }
+        return null;
+    }
+
+    /**
+     * @return the labels of the given constants, in the same order
+     */
+    static String[] labels(Labeled[] values) {
+        String[] labels = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            labels[i] = values[i].getLabel();
+        }
+        return labels;
+    }
+}
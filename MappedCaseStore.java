@@ -0,0 +1,164 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped view of a case store file.
+ *
+ * Layout: header, a fixed-width offset table with one 12-byte slot
+ * (offset, length) per record ID from baseId up to nextCaseId, then the
+ * cases encoded as standalone ViolationCodec records. A case is decoded
+ * only when it is looked up, so opening the store does not depend on the
+ * size of the archive.
+ */
+public class MappedCaseStore {
+    private static final int MAGIC = 0x4149564D; // "AIVM"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 4 + 4 + 4 + 4;
+    private static final int SLOT_SIZE = 12;
+
+    private final MappedByteBuffer buffer;
+    private final int nextCaseId;
+    private final int baseId;
+    private final int slotCount;
+    private final int caseCount;
+
+    private MappedCaseStore(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an AIVT mapped store");
+        }
+        int version = buffer.getShort(4) & 0xFFFF;
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported mapped store version " + version);
+        }
+        this.nextCaseId = buffer.getInt(6);
+        this.baseId = buffer.getInt(10);
+        this.slotCount = buffer.getInt(14);
+        this.caseCount = buffer.getInt(18);
+    }
+
+    /**
+     * Map an existing store file into memory
+     * @param file The store file
+     * @return the opened store
+     */
+    public static MappedCaseStore open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Mapped store exceeds 2 GB: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedCaseStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write cases in mapped-store layout
+     * @param file The destination file, replaced if it exists
+     * @param cases The cases to write
+     * @param nextCaseId The next record ID to be assigned
+     */
+    public static void write(Path file, List<Violation> cases, int nextCaseId) throws IOException {
+        int baseId = nextCaseId;
+        for (Violation v : cases) {
+            baseId = Math.min(baseId, v.getRecordID());
+        }
+        int slotCount = nextCaseId - baseId;
+        long dataStart = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+        long[] offsets = new long[slotCount];
+        int[] lengths = new int[slotCount];
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(dataStart);
+            OutputStream channelOut = Channels.newOutputStream(channel);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(channelOut, 1 << 16));
+            long position = dataStart;
+            for (Violation v : cases) {
+                byte[] record = ViolationCodec.encode(v);
+                int slot = v.getRecordID() - baseId;
+                offsets[slot] = position;
+                lengths[slot] = record.length;
+                data.write(record);
+                position += record.length;
+            }
+            data.flush();
+
+            ByteBuffer table = ByteBuffer.allocate(HEADER_SIZE + slotCount * SLOT_SIZE);
+            table.putInt(MAGIC);
+            table.putShort((short) FORMAT_VERSION);
+            table.putInt(nextCaseId);
+            table.putInt(baseId);
+            table.putInt(slotCount);
+            table.putInt(cases.size());
+            for (int i = 0; i < slotCount; i++) {
+                table.putLong(offsets[i]);
+                table.putInt(lengths[i]);
+            }
+            table.flip();
+            channel.position(0);
+            while (table.hasRemaining()) {
+                channel.write(table);
+            }
+        }
+    }
+
+    /**
+     * Decode a single case
+     * @param recordID The case to decode
+     * @return the case, or null if the store holds no case with that ID
+     */
+    public Violation load(int recordID) throws IOException {
+        int slot = recordID - baseId;
+        if (slot < 0 || slot >= slotCount) return null;
+        int slotPosition = HEADER_SIZE + slot * SLOT_SIZE;
+        int length = buffer.getInt(slotPosition + 8);
+        if (length == 0) return null;
+        byte[] record = new byte[length];
+        buffer.get((int) buffer.getLong(slotPosition), record);
+        return ViolationCodec.decode(record);
+    }
+
+    /**
+     * @return the record IDs present in the store, in ascending order
+     */
+    public int[] recordIDs() {
+        int[] ids = new int[caseCount];
+        int count = 0;
+        for (int slot = 0; slot < slotCount && count < caseCount; slot++) {
+            if (buffer.getInt(HEADER_SIZE + slot * SLOT_SIZE + 8) != 0) {
+                ids[count++] = baseId + slot;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Decode every case in the store
+     */
+    public List<Violation> readAll() throws IOException {
+        List<Violation> cases = new ArrayList<>(caseCount);
+        for (int id : recordIDs()) {
+            cases.add(load(id));
+        }
+        return cases;
+    }
+
+    public int size() {
+        return caseCount;
+    }
+
+    public int getNextCaseId() {
+        return nextCaseId;
+    }
+}
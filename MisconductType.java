@@ -0,0 +1,38 @@
+/**
+ * Categories of academic misconduct tracked by the system.
+ */
+public enum MisconductType implements Labeled {
+    PLAGIARISM("Plagiarism"),
+    CHEATING("Cheating"),
+    COLLUSION("Collusion"),
+    CODE_PLAGIARISM("Code Plagiarism");
+
+    private static final MisconductType[] VALUES = values();
+
+    private final String label;
+
+    MisconductType(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the constant with this label, or null (see Labeled.fromLabel)
+     */
+    public static MisconductType fromLabel(String label) {
+        return Labeled.fromLabel(VALUES, label);
+    }
+
+    public static String[] labels() {
+        return Labeled.labels(VALUES);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * How CaseManager answers a CaseQuery: the access path chosen for it and
+ * the alternatives that were considered, with their estimated row counts.
+ * explain() renders it for people.
+ */
+public class QueryPlan {
+    /**
+     * One way of producing candidate cases. An index path walks its source
+     * until stop returns true; a full scan has no source.
+     */
+    static class AccessPath {
+        final String description;
+        final long estimatedRows;
+        final boolean approximate;
+        final Iterable<Violation> source;
+        final Predicate<Violation> stop;
+
+        AccessPath(String description, long estimatedRows, boolean approximate,
+                   Iterable<Violation> source, Predicate<Violation> stop) {
+            this.description = description;
+            this.estimatedRows = estimatedRows;
+            this.approximate = approximate;
+            this.source = source;
+            this.stop = stop;
+        }
+
+        boolean isFullScan() {
+            return source == null;
+        }
+
+        String describe() {
+            return description + " (est. " + (approximate ? "~" : "") + estimatedRows + " rows)";
+        }
+    }
+
+    private final CaseQuery query;
+    private final int totalCases;
+    private final AccessPath chosen;
+    private final List<AccessPath> alternatives;
+    private final boolean parallel;
+
+    QueryPlan(CaseQuery query, int totalCases, AccessPath chosen, List<AccessPath> alternatives, boolean parallel) {
+        this.query = query;
+        this.totalCases = totalCases;
+        this.chosen = chosen;
+        this.alternatives = Collections.unmodifiableList(alternatives);
+        this.parallel = parallel;
+    }
+
+    AccessPath getChosenPath() {
+        return chosen;
+    }
+
+    public String getAccessPath() {
+        return chosen.description;
+    }
+
+    public long getEstimatedRows() {
+        return chosen.estimatedRows;
+    }
+
+    public boolean isFullScan() {
+        return chosen.isFullScan();
+    }
+
+    /**
+     * @return whether a full scan is split across the common fork-join pool
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public String explain() {
+        StringBuilder text = new StringBuilder();
+        String criteria = query.toString();
+        text.append("Query:  ").append(criteria.isEmpty() ? "(all cases)" : criteria).append('\n');
+        text.append("Plan:   ").append(chosen.describe()).append(" of ").append(totalCases).append(" cases\n");
+        text.append("Filter: every criterion re-checked on each candidate\n");
+        if (!alternatives.isEmpty()) {
+            text.append("Considered:\n");
+            for (AccessPath path : alternatives) {
+                text.append("  ").append(path.describe()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,75 @@
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered case reports kept between text exports, so an export only
+ * renders cases that were added or changed since the last one. CaseManager
+ * invalidates a case whenever it is modified or removed.
+ *
+ * By default every report is kept, so an unchanged case is never rendered
+ * twice. Reports take about a kilobyte each, so for very large archives
+ * -Daivt.export.cacheCapacity=N bounds the cache to N reports. Cases beyond
+ * the bound are rendered straight into the export stream on every export.
+ */
+public class ReportCache {
+    public static final int DEFAULT_CAPACITY = Integer.getInteger("aivt.export.cacheCapacity", Integer.MAX_VALUE);
+
+    // Invalidated under CaseManager's write lock while an export may be rendering
+    private final Map<Integer, String> rendered = new ConcurrentHashMap<>();
+    private final int capacity;
+    // Bumped by every invalidation. A report rendered while it changed may
+    // mix old and new values, so it is written out but not kept.
+    private volatile long invalidations;
+
+    public ReportCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ReportCache(int capacity) {
+        this.capacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Append the report for a case, reusing the cached text when present
+     * @param violation The case to write
+     * @param out The export stream
+     */
+    public void write(Violation violation, Appendable out) throws IOException {
+        String cached = rendered.get(violation.getRecordID());
+        if (cached != null) {
+            out.append(cached);
+        } else if (rendered.size() < capacity) {
+            long stamp = invalidations;
+            StringBuilder report = new StringBuilder(1024);
+            violation.appendReport(report);
+            keep(violation.getRecordID(), report.toString(), stamp);
+            out.append(report);
+        } else {
+            violation.appendReport(out);
+        }
+    }
+
+    private synchronized void keep(int recordID, String report, long stamp) {
+        if (invalidations == stamp) rendered.put(recordID, report);
+    }
+
+    /**
+     * Drop the cached report for a case so the next export re-renders it.
+     * Call it after the change, so a report rendered during the change is
+     * either removed here or refused by keep.
+     */
+    public synchronized void invalidate(int recordID) {
+        rendered.remove(recordID);
+        invalidations++;
+    }
+
+    public synchronized void clear() {
+        rendered.clear();
+        invalidations++;
+    }
+
+    public int size() {
+        return rendered.size();
+    }
+}
@@ -0,0 +1,79 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the human-readable report of every case to a file.
+ *
+ * Cases are visited one at a time through CaseManager.forEachCase and each
+ * report is appended straight into a buffered writer on the file channel,
+ * optionally gzip-compressed, so the archive is never copied into a list
+ * or rendered into one large string. The file is written under a temporary
+ * name and moved into place when complete.
+ */
+public class ReportExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String SEPARATOR = "==================================================";
+
+    /**
+     * Export every case report
+     * @param caseManager The cases to export
+     * @param file Destination file, replaced if it exists
+     * @param gzip Whether to gzip-compress the output
+     * @param cache Reports kept from earlier exports, or null to render every case
+     * @return the number of cases written
+     */
+    public static int export(CaseManager caseManager, Path file, boolean gzip, ReportCache cache) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        int[] written = {0};
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            if (gzip) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writer.append(SEPARATOR).append('\n')
+                        .append("  Academic Integrity Violation Tracker (AIVT) v2.0\n")
+                        .append(SEPARATOR).append('\n')
+                        .append("Generated on: ").append(LocalDateTime.now().toString()).append('\n')
+                        .append("Total Cases: ").append(Integer.toString(caseManager.getTotalCases())).append('\n')
+                        .append(SEPARATOR).append("\n\n");
+                try {
+                    caseManager.forEachCase(v -> {
+                        try {
+                            if (cache != null) {
+                                cache.write(v, writer);
+                            } else {
+                                v.appendReport(writer);
+                            }
+                            writer.append('\n').append(SEPARATOR).append("\n\n");
+                            written[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return written[0];
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A report layout compiled once into alternating literal segments and
+ * field slots.
+ *
+ * Layouts are plain text with {name} placeholders. compile() splits the
+ * layout and resolves each placeholder to its Field up front; render()
+ * then only appends the segments and lets each field append its value, so
+ * nothing is parsed per report and no Formatter is involved.
+ */
+public class ReportTemplate<T> {
+    /**
+     * Appends one value of the source object
+     */
+    @FunctionalInterface
+    public interface Field<T> {
+        void appendTo(T source, Appendable out) throws IOException;
+    }
+
+    /**
+     * Named fields available to a layout
+     */
+    public static class Fields<T> {
+        private final Map<String, Field<? super T>> byName = new HashMap<>();
+
+        public Fields<T> add(String name, Field<? super T> field) {
+            byName.put(name, field);
+            return this;
+        }
+    }
+
+    // literals[i] precedes fields[i]; the last literal follows the last field
+    private final String[] literals;
+    private final Field<? super T>[] fields;
+    private final int literalLength;
+
+    private ReportTemplate(String[] literals, Field<? super T>[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compile a layout
+     * @param layout Text with {name} placeholders
+     * @param available The fields placeholders may refer to
+     * @throws IllegalArgumentException if a placeholder is unterminated or names an unknown field
+     */
+    public static <T> ReportTemplate<T> compile(String layout, Fields<T> available) {
+        List<String> literals = new ArrayList<>();
+        List<Field<? super T>> slots = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = layout.indexOf('{', start)) >= 0) {
+            int close = layout.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + open);
+            }
+            String name = layout.substring(open + 1, close);
+            Field<? super T> field = available.byName.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown report field: " + name);
+            }
+            literals.add(layout.substring(start, open));
+            slots.add(field);
+            start = close + 1;
+        }
+        literals.add(layout.substring(start));
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Field<? super T>[] fieldArray = slots.toArray(new Field[0]);
+        return new ReportTemplate<>(literals.toArray(new String[0]), fieldArray);
+    }
+
+    /**
+     * Append the rendered report for source to out
+     */
+    public void render(T source, Appendable out) throws IOException {
+        out.append(literals[0]);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].appendTo(source, out);
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /**
+     * Render the report for source into a new String
+     */
+    public String render(T source) {
+        StringBuilder report = new StringBuilder(literalLength + 32 * fields.length);
+        try {
+            render(source, report);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return report.toString();
+    }
+}
@@ -1,4 +1,4 @@
-public interface ResolutionWorkflow {
-    void applyPenalty(String penaltyType);
-    void closeCase();
-}
+public interface ResolutionWorkflow {
+    void applyPenalty(String penaltyType);
+    void closeCase();
+}
@@ -0,0 +1,40 @@
+/**
+ * Penalties that can be applied to a case.
+ */
+public enum Sanction implements Labeled {
+    NONE("None"),
+    WARNING("Warning"),
+    GRADE_REDUCTION("Grade Reduction"),
+    RETAKE_ASSIGNMENT("Retake Assignment"),
+    SUSPENSION("Suspension"),
+    EXPULSION("Expulsion");
+
+    private static final Sanction[] VALUES = values();
+
+    private final String label;
+
+    Sanction(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the constant with this label, or null (see Labeled.fromLabel)
+     */
+    public static Sanction fromLabel(String label) {
+        return Labeled.fromLabel(VALUES, label);
+    }
+
+    public static String[] labels() {
+        return Labeled.labels(VALUES);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,275 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cohort handling shared by the similarity engines.
+ *
+ * A subclass turns each document of the cohort into a set of features
+ * (code fingerprints, essay shingles) and finds the pairs sharing them in
+ * compare(). A document's similarity to another is the share of its
+ * features found in the other one. reportCases() opens a case for each
+ * student whose best match reaches the threshold, naming that match, with
+ * the matched ranges of every match as evidence.
+ *
+ * @param <D> the engine's document type
+ */
+public abstract class SimilarityEngine<D extends SimilarityEngine.Document> {
+    // Features shared by more than this share of the cohort are boilerplate
+    public static final double DEFAULT_MAX_SHARE = 0.5;
+    private static final int MAX_EVIDENCE_LENGTH = ValidationEngine.MAX_STRING_LENGTH;
+
+    // Most similar first, then by label so the order does not depend on threads
+    protected static final Comparator<Match<?>> MOST_SIMILAR_FIRST =
+            Comparator.<Match<?>>comparingDouble(Match::getMaxSimilarity).reversed()
+                    .thenComparing(m -> m.first.label).thenComparing(m -> m.second.label);
+
+    protected final CaseManager caseManager;
+    protected final List<D> documents = new ArrayList<>();
+    protected double threshold;
+    protected double maxShare = DEFAULT_MAX_SHARE;
+
+    /**
+     * One student's document in the cohort
+     */
+    public abstract static class Document {
+        protected final Student student;
+        protected final String label;
+
+        protected Document(Student student, String label) {
+            this.student = student;
+            this.label = label;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return the number of distinct features, once compared
+         */
+        protected abstract int featureCount();
+    }
+
+    /**
+     * Two documents sharing features, with each side's similarity
+     */
+    public static class Match<D extends Document> {
+        private final D first;
+        private final D second;
+        private final int shared;
+
+        Match(D first, D second, int shared) {
+            this.first = first;
+            this.second = second;
+            this.shared = shared;
+        }
+
+        public D getFirst() {
+            return first;
+        }
+
+        public D getSecond() {
+            return second;
+        }
+
+        /**
+         * @return the number of features found in both documents
+         */
+        public int getShared() {
+            return shared;
+        }
+
+        /**
+         * @return the percentage of the first document's features found in the second
+         */
+        public double getFirstSimilarity() {
+            return 100.0 * shared / first.featureCount();
+        }
+
+        /**
+         * @return the percentage of the second document's features found in the first
+         */
+        public double getSecondSimilarity() {
+            return 100.0 * shared / second.featureCount();
+        }
+
+        public double getMaxSimilarity() {
+            return Math.max(getFirstSimilarity(), getSecondSimilarity());
+        }
+
+        public double getJaccard() {
+            return (double) shared / (first.featureCount() + second.featureCount() - shared);
+        }
+
+        /**
+         * @return the other document of the pair
+         */
+        public D other(D document) {
+            return first == document ? second : first;
+        }
+
+        /**
+         * @return the percentage of the given document's features found in the other
+         */
+        public double similarityOf(D document) {
+            return first == document ? getFirstSimilarity() : getSecondSimilarity();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s) %.1f%% <-> %s (%s) %.1f%%", first.label, first.student.getStudentID(),
+                    getFirstSimilarity(), second.label, second.student.getStudentID(), getSecondSimilarity());
+        }
+    }
+
+    protected SimilarityEngine(CaseManager caseManager, double threshold) {
+        this.caseManager = caseManager;
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param threshold Similarity percentage at which a case is opened
+     */
+    public void setThreshold(double threshold) {
+        if (threshold <= 0 || threshold > 100) throw new IllegalArgumentException("threshold must be in (0, 100]");
+        this.threshold = threshold;
+    }
+
+    /**
+     * @param maxShare Fraction of documents above which a shared feature is ignored
+     */
+    public void setMaxShare(double maxShare) {
+        if (maxShare <= 0 || maxShare > 1) throw new IllegalArgumentException("maxShare must be in (0, 1]");
+        this.maxShare = maxShare;
+    }
+
+    /**
+     * Add every document listed in a cohort manifest
+     */
+    public abstract void loadManifest(Path manifest) throws IOException;
+
+    /**
+     * Compare the documents of the cohort
+     * @return pairs of different students with a similarity at or above
+     *         minSimilarity on either side, most similar first
+     */
+    public abstract List<Match<D>> compare(double minSimilarity);
+
+    /**
+     * Compare the cohort and open a case for each student whose best match
+     * reaches the threshold
+     * @param faculty Reporting faculty for the new cases
+     * @param incidentDate Incident date for the new cases
+     * @return the added cases and any rejected ones
+     */
+    public BatchResult reportCases(String faculty, LocalDate incidentDate) {
+        List<Match<D>> matches = compare(threshold);
+        // Each flagged document's matches, best first
+        Map<D, List<Match<D>>> flagged = new LinkedHashMap<>();
+        for (Match<D> match : matches) {
+            if (match.getFirstSimilarity() >= threshold) {
+                flagged.computeIfAbsent(match.first, k -> new ArrayList<>()).add(match);
+            }
+            if (match.getSecondSimilarity() >= threshold) {
+                flagged.computeIfAbsent(match.second, k -> new ArrayList<>()).add(match);
+            }
+        }
+
+        List<Violation> violations = new ArrayList<>();
+        for (Map.Entry<D, List<Match<D>>> entry : flagged.entrySet()) {
+            D document = entry.getKey();
+            List<Match<D>> documentMatches = entry.getValue();
+            Match<D> best = documentMatches.get(0);
+            violations.add(toViolation(document, best.other(document), best.similarityOf(document),
+                    evidence(document, documentMatches), faculty, incidentDate));
+        }
+        return caseManager.addCases(violations);
+    }
+
+    // Each match with its matched ranges, best first, as many as fit
+    private String evidence(D document, List<Match<D>> matches) {
+        StringBuilder evidence = new StringBuilder();
+        for (Match<D> match : matches) {
+            D other = match.other(document);
+            String entry = String.format(Locale.ROOT, "%s%.1f%% of %s matches %s (%s), %s",
+                    evidence.length() == 0 ? "" : "; ", match.similarityOf(document), document.label,
+                    other.label, other.student.getStudentID(), matchedRanges(document, other));
+            if (evidence.length() + entry.length() > MAX_EVIDENCE_LENGTH) break;
+            evidence.append(entry);
+        }
+        return evidence.toString();
+    }
+
+    /**
+     * @return where the document's features found in other lie, e.g. "lines 3-17, 40-52"
+     */
+    protected abstract String matchedRanges(D document, D other);
+
+    /**
+     * The case for a flagged document
+     * @param source The document's best match
+     * @param similarity Percentage of the document's features found in source
+     * @param evidence Every match of the document with its matched ranges
+     */
+    protected abstract Violation toViolation(D document, D source, double similarity, String evidence,
+                                             String faculty, LocalDate incidentDate);
+
+    protected static int gravityFor(double similarity) {
+        if (similarity >= 90) return 4;
+        if (similarity >= 75) return 3;
+        return 2;
+    }
+
+    // Spread a hash over all 64 bits (the MurmurHash3 finalizer)
+    protected static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Command line shared by the engines: <manifest.csv> <faculty> [threshold%]
+     * @param command Program name for the usage line
+     * @param documentsName What the engine compares, e.g. "essays"
+     * @param engineFactory Creates the engine on the loaded case store
+     */
+    protected static void run(String[] args, String command, String documentsName,
+                              Function<CaseManager, SimilarityEngine<?>> engineFactory) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java " + command + " <manifest.csv> <faculty> [threshold%]");
+            return;
+        }
+        CaseManager caseManager = CaseManager.load();
+        SimilarityEngine<?> engine = engineFactory.apply(caseManager);
+        if (args.length > 2) engine.setThreshold(Double.parseDouble(args[2]));
+        engine.loadManifest(Paths.get(args[0]));
+
+        long start = System.nanoTime();
+        BatchResult result = engine.reportCases(args[1], LocalDate.now());
+        long elapsed = System.nanoTime() - start;
+        caseManager.shutdown();
+
+        System.out.printf("Compared %d %s in %.2f s%n", engine.documents.size(), documentsName, elapsed / 1e9);
+        for (Violation added : result.getAdded()) {
+            System.out.printf("  Case %d: %s%n", added.getRecordID(), added.getIncidentDescription());
+        }
+        System.out.println(result);
+        result.getFailures().forEach((row, error) -> System.out.println("  Rejected: " + error.getMessage()));
+    }
+}
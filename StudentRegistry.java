@@ -0,0 +1,110 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Canonical Student instances keyed by studentID, so every case of the same
+ * student shares one object and a contact change reaches all of them.
+ * Registered students are also indexed for search by name or partial
+ * enrollment number.
+ */
+public class StudentRegistry {
+    private final Map<String, Student> students = new HashMap<>();
+    private final StudentSearchIndex searchIndex = new StudentSearchIndex();
+
+    /**
+     * Return the shared instance for a student, registering it if it is new.
+     * When the ID is already known the registered details are kept; this is
+     * how stored cases are loaded. Details that should replace the
+     * registered ones go through update.
+     * @param student The student to look up
+     * @return the canonical instance, or null if student is null
+     */
+    public Student intern(Student student) {
+        if (student == null || student.getStudentID() == null) return student;
+        Student existing = students.putIfAbsent(student.getStudentID(), student);
+        if (existing != null) return existing;
+        searchIndex.add(student);
+        return student;
+    }
+
+    /**
+     * Register a student, or copy their name, email and department onto the
+     * registered instance for their ID so every case of theirs sees them
+     * @param student A student carrying the latest details
+     * @return true if the registered details changed
+     */
+    public boolean update(Student student) {
+        if (student == null || student.getStudentID() == null) return false;
+        Student existing = students.get(student.getStudentID());
+        if (existing == null) {
+            intern(student);
+            return false;
+        }
+        if (existing == student || sameDetails(existing, student)) return false;
+        boolean renamed = !Objects.equals(existing.getStudentName(), student.getStudentName());
+        existing.setStudentName(student.getStudentName());
+        existing.setEmail(student.getEmail());
+        existing.setDepartment(student.getDepartment());
+        if (renamed) searchIndex.add(existing);
+        return true;
+    }
+
+    private static boolean sameDetails(Student a, Student b) {
+        return Objects.equals(a.getStudentName(), b.getStudentName())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getDepartment(), b.getDepartment());
+    }
+
+    /**
+     * Make this instance the canonical one for its ID, replacing any earlier one
+     */
+    public void register(Student student) {
+        if (student != null && student.getStudentID() != null) {
+            students.put(student.getStudentID(), student);
+            searchIndex.add(student);
+        }
+    }
+
+    public Student get(String studentID) {
+        return students.get(studentID);
+    }
+
+    public boolean contains(String studentID) {
+        return students.containsKey(studentID);
+    }
+
+    public List<Student> getAllStudents() {
+        return new ArrayList<>(students.values());
+    }
+
+    /**
+     * Find students by enrollment-number prefix or approximate name
+     * @param query Part of an enrollment number, or a full or misspelled name
+     * @param limit Maximum number of matches
+     * @param filter Students eligible to be returned
+     * @return the best matches, best first
+     */
+    public List<StudentSearchIndex.Match> search(String query, int limit, Predicate<Student> filter) {
+        return searchIndex.search(query, limit, filter);
+    }
+
+    /**
+     * @return the registered students with this name, ignoring case, accents and punctuation
+     */
+    public List<Student> findByName(String name) {
+        return searchIndex.findByName(name);
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    public void clear() {
+        students.clear();
+        searchIndex.clear();
+    }
+}
@@ -0,0 +1,323 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Lookup of students by partial enrollment number or approximate name.
+ *
+ * Enrollment numbers are kept in a sorted map, so a digit prefix is a
+ * range scan. Names are normalized (lower case, accents and punctuation
+ * removed) and broken into character trigrams with a leading space per
+ * word; each trigram has a postings list of the students whose name
+ * contains it. A query is scored against every student sharing a trigram
+ * with it by how much of the query's trigrams the name covers, lightly
+ * penalizing extra name trigrams, so misspellings and partial names still
+ * rank close matches first. The best few are then re-ranked with a bonus
+ * for names containing the query words as prefixes.
+ *
+ * Not thread-safe for writes; StudentRegistry is only modified under
+ * CaseManager's write lock.
+ */
+public class StudentSearchIndex {
+    // Weight of name trigrams missing from the query (Tversky index)
+    private static final double EXTRA_TRIGRAM_WEIGHT = 0.25;
+    private static final double WORD_PREFIX_BONUS = 0.25;
+    private static final int RERANK_FACTOR = 4;
+    private static final int TYPO_TRIGRAMS = 3;
+
+    /**
+     * A student and how well it matched, higher is better
+     */
+    public static class Match {
+        private final Student student;
+        private final double score;
+
+        Match(Student student, double score) {
+            this.student = student;
+            this.score = score;
+        }
+
+        public Student getStudent() {
+            return student;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // Growable list of student slots
+    private static class SlotList {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+
+    // Slot -> student. Slots only grow, so every postings list is in
+    // ascending slot order; a removed student's slot stays in the postings
+    // with a trigram count of -1 and is skipped.
+    private final List<Student> slots = new ArrayList<>();
+    private final List<String> normalizedNames = new ArrayList<>();
+    private final SlotList trigramCounts = new SlotList();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final TreeMap<String, Student> byId = new TreeMap<>();
+    private final Map<String, List<Student>> byName = new HashMap<>();
+    private final Map<String, SlotList> postings = new HashMap<>();
+
+    public void add(Student student) {
+        String id = student.getStudentID();
+        if (id == null) return;
+        remove(id);
+        int slot = slots.size();
+        String name = normalize(student.getStudentName());
+        Set<String> trigrams = trigrams(name, true);
+        slots.add(student);
+        normalizedNames.add(name);
+        trigramCounts.add(trigrams.size());
+        slotById.put(id, slot);
+        byId.put(id, student);
+        byName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(student);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new SlotList()).add(slot);
+        }
+    }
+
+    public void remove(String studentID) {
+        Integer slot = slotById.remove(studentID);
+        if (slot == null) return;
+        List<Student> namesakes = byName.get(normalizedNames.get(slot));
+        namesakes.remove(slots.get(slot));
+        if (namesakes.isEmpty()) byName.remove(normalizedNames.get(slot));
+        slots.set(slot, null);
+        normalizedNames.set(slot, null);
+        trigramCounts.slots[slot] = -1;
+        byId.remove(studentID);
+    }
+
+    public void clear() {
+        slots.clear();
+        normalizedNames.clear();
+        trigramCounts.size = 0;
+        slotById.clear();
+        byId.clear();
+        byName.clear();
+        postings.clear();
+    }
+
+    /**
+     * Find students by enrollment-number prefix (for all-digit queries) or by
+     * approximate name
+     * @param query Part of an enrollment number or name
+     * @param limit Maximum number of matches
+     * @param filter Students eligible to be returned
+     * @return the best matches, best first
+     */
+    public List<Match> search(String query, int limit, Predicate<Student> filter) {
+        List<Match> matches = new ArrayList<>();
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.isEmpty() || limit < 1) return matches;
+
+        if (trimmed.chars().allMatch(Character::isDigit)) {
+            for (Student student : byId.subMap(trimmed, true, trimmed + Character.MAX_VALUE, false).values()) {
+                if (matches.size() >= limit) break;
+                if (filter.test(student)) matches.add(new Match(student, 1.0));
+            }
+            return matches;
+        }
+
+        String normalized = normalize(trimmed);
+        // No trailing space, so the last word also matches as a prefix
+        Set<String> queryTrigrams = trigrams(normalized, false);
+        if (queryTrigrams.isEmpty()) return matches;
+
+        // Rarest trigrams first; a missing trigram is an empty list
+        SlotList[] lists = new SlotList[queryTrigrams.size()];
+        int n = 0;
+        for (String trigram : queryTrigrams) {
+            SlotList list = postings.get(trigram);
+            lists[n++] = list != null ? list : new SlotList();
+        }
+        Arrays.sort(lists, (x, y) -> Integer.compare(x.size, y.size));
+
+        // First allow for one typo, which breaks up to three trigrams, and
+        // relax only if nothing is that close
+        int minShared = Math.max(1, lists.length - TYPO_TRIGRAMS);
+        SlotList shared = new SlotList();
+        SlotList candidates = findCandidates(lists, minShared, shared);
+        while (candidates.size == 0 && minShared > 1) {
+            minShared = minShared > (lists.length + 1) / 2 ? (lists.length + 1) / 2 : 1;
+            candidates = findCandidates(lists, minShared, shared);
+        }
+
+        int shortlist = limit * RERANK_FACTOR;
+        PriorityQueue<Match> best = new PriorityQueue<>(shortlist + 1, (x, y) -> Double.compare(x.score, y.score));
+        for (int i = 0; i < candidates.size; i++) {
+            int slot = candidates.slots[i];
+            int nameTrigrams = trigramCounts.slots[slot];
+            if (nameTrigrams < 0) continue;
+            int common = shared.slots[i];
+            double score = common / (queryTrigrams.size() + EXTRA_TRIGRAM_WEIGHT * (nameTrigrams - common));
+            if (best.size() == shortlist && score <= best.peek().score) continue;
+            Student student = slots.get(slot);
+            if (!filter.test(student)) continue;
+            best.add(new Match(student, score));
+            if (best.size() > shortlist) best.poll();
+        }
+
+        String[] queryWords = normalized.split(" ");
+        for (Match match : best) {
+            String name = normalizedNames.get(slotById.get(match.student.getStudentID()));
+            matches.add(new Match(match.student, match.score + WORD_PREFIX_BONUS * wordPrefixShare(name, queryWords)));
+        }
+        matches.sort((x, y) -> x.score != y.score ? Double.compare(y.score, x.score)
+                : x.student.getStudentID().compareTo(y.student.getStudentID()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Find the students in at least minShared of the lists, which are in
+     * ascending slot order. Such a student must be in one of the first
+     * (length - minShared + 1) lists, so only those are merged; each later
+     * list is then searched only for the candidates that can still reach
+     * minShared, which keeps the frequent trigrams of common names cheap.
+     * @param counts Receives the number of lists containing each candidate
+     * @return the candidate slots, in ascending order
+     */
+    private static SlotList findCandidates(SlotList[] lists, int minShared, SlotList counts) {
+        int probe = lists.length - minShared + 1;
+        int total = 0;
+        for (int l = 0; l < probe; l++) {
+            total += lists[l].size;
+        }
+        int[] merged = new int[total];
+        int n = 0;
+        for (int l = 0; l < probe; l++) {
+            System.arraycopy(lists[l].slots, 0, merged, n, lists[l].size);
+            n += lists[l].size;
+        }
+        Arrays.sort(merged);
+
+        SlotList candidates = new SlotList();
+        counts.size = 0;
+        for (int i = 0; i < total; ) {
+            int slot = merged[i];
+            int shared = 0;
+            while (i < total && merged[i] == slot) {
+                shared++;
+                i++;
+            }
+            candidates.add(slot);
+            counts.add(shared);
+        }
+
+        for (int l = probe; l < lists.length; l++) {
+            SlotList list = lists[l];
+            int listsLeft = lists.length - l;
+            int position = 0;
+            int kept = 0;
+            for (int i = 0; i < candidates.size; i++) {
+                int slot = candidates.slots[i];
+                int shared = counts.slots[i];
+                if (shared + listsLeft < minShared) continue;
+                int found = Arrays.binarySearch(list.slots, position, list.size, slot);
+                if (found >= 0) {
+                    shared++;
+                    position = found + 1;
+                } else {
+                    position = -found - 1;
+                }
+                candidates.slots[kept] = slot;
+                counts.slots[kept++] = shared;
+            }
+            candidates.size = kept;
+            counts.size = kept;
+        }
+
+        int kept = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            if (counts.slots[i] >= minShared) {
+                candidates.slots[kept] = candidates.slots[i];
+                counts.slots[kept++] = counts.slots[i];
+            }
+        }
+        candidates.size = kept;
+        counts.size = kept;
+        return candidates;
+    }
+
+    /**
+     * @return the students whose name is the same as this one once
+     *         normalized (ignoring case, accents and punctuation)
+     */
+    public List<Student> findByName(String name) {
+        List<Student> namesakes = byName.get(normalize(name));
+        return namesakes == null ? new ArrayList<>() : new ArrayList<>(namesakes);
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    // Share of query words that start some word of the name
+    private static double wordPrefixShare(String name, String[] queryWords) {
+        String[] nameWords = name.split(" ");
+        int found = 0;
+        for (String queryWord : queryWords) {
+            for (String nameWord : nameWords) {
+                if (nameWord.startsWith(queryWord)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return (double) found / queryWords.length;
+    }
+
+    /**
+     * Lower-case, strip accents, and reduce everything but letters and
+     * digits to single spaces between words
+     */
+    static String normalize(String text) {
+        if (text == null) return "";
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) normalized.append(' ');
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Distinct trigrams of each word with a leading space, and a trailing one if requested
+    private static Set<String> trigrams(String normalized, boolean trailingSpace) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) continue;
+            String padded = " " + word + (trailingSpace ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
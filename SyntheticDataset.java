@@ -0,0 +1,179 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates reproducible synthetic case loads for benchmarking.
+ *
+ * Cases are spread over a pool of students following a Zipf distribution:
+ * skew 0 gives every student the same expected number of cases, larger
+ * values concentrate cases on a few repeat offenders. The type mix sets the
+ * relative weight of plagiarism, cheating, collusion and code plagiarism
+ * cases. The same seed always produces the same dataset.
+ */
+public class SyntheticDataset {
+    private static final String[] STATUSES = CaseStatus.labels();
+    private static final String[] SANCTIONS = {"None", "Warning", "Grade Reduction", "Course Failure", "Suspension"};
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Engineering", "Physics", "History"};
+    private static final String[] LANGUAGES = {"Java", "Python", "C++", "JavaScript"};
+    private static final String[] WORDS = {"submission", "matched", "source", "paragraph", "exam", "notes",
+            "report", "code", "identical", "shared", "online", "assignment", "lab", "quiz", "essay"};
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+    private final long seed;
+    private int caseCount = 10_000;
+    private int studentCount = 2_000;
+    private double skew = 1.0;
+    private double[] typeWeights = {4, 2, 1, 3};
+
+    public SyntheticDataset(long seed) {
+        this.seed = seed;
+    }
+
+    public SyntheticDataset cases(int caseCount) {
+        this.caseCount = Math.max(0, caseCount);
+        return this;
+    }
+
+    public SyntheticDataset students(int studentCount) {
+        this.studentCount = Math.max(1, studentCount);
+        return this;
+    }
+
+    /**
+     * @param skew Zipf exponent for cases per student; 0 for uniform
+     */
+    public SyntheticDataset skew(double skew) {
+        this.skew = Math.max(0, skew);
+        return this;
+    }
+
+    /**
+     * Relative weights of plagiarism, cheating, collusion and code plagiarism cases
+     */
+    public SyntheticDataset typeMix(double plagiarism, double cheating, double collusion, double codePlagiarism) {
+        this.typeWeights = new double[] {plagiarism, cheating, collusion, codePlagiarism};
+        return this;
+    }
+
+    public int getCaseCount() {
+        return caseCount;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    /**
+     * @return the enrollment number of the student with the given rank (0 = most cases)
+     */
+    public static String enrollmentNumber(int studentRank) {
+        return String.format("%08d", 20_000_000 + studentRank);
+    }
+
+    /**
+     * Generate the cases, with record IDs starting at 1000
+     */
+    public List<Violation> generate() {
+        Random random = new Random(seed);
+        Student[] students = new Student[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            students[i] = new Student(enrollmentNumber(i), "Student " + i,
+                    "student" + i + "@university.edu", DEPARTMENTS[i % DEPARTMENTS.length]);
+        }
+        double[] studentCdf = zipfCdf(studentCount, skew);
+        double[] typeCdf = cumulative(typeWeights);
+
+        List<Violation> cases = new ArrayList<>(caseCount);
+        for (int i = 0; i < caseCount; i++) {
+            Student student = students[sample(studentCdf, random)];
+            LocalDate incidentDate = FIRST_DATE.plusDays(random.nextInt(5 * 365));
+            String faculty = "Dr. Faculty" + (char) ('A' + random.nextInt(26));
+            int gravity = 1 + random.nextInt(5);
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            String sanction = SANCTIONS[random.nextInt(SANCTIONS.length)];
+            String description = sentence(random, 12);
+            String evidence = sentence(random, 8);
+            int recordID = 1000 + i;
+            double similarity = Math.round(random.nextDouble() * 1000) / 10.0;
+
+            Violation violation;
+            switch (sample(typeCdf, random)) {
+                case 0:
+                    violation = new PlagiarismViolation(student, "Plagiarism", incidentDate, faculty, gravity,
+                            status, sanction, description, recordID, evidence, "https://example.org/" + i, similarity);
+                    break;
+                case 1:
+                    violation = new CheatingViolation(student, "Cheating", incidentDate, faculty, gravity,
+                            status, sanction, description, recordID, evidence, sentence(random, 5), sentence(random, 4));
+                    break;
+                case 2:
+                    violation = new CollusionViolation(student, "Collusion", incidentDate, faculty, gravity,
+                            status, sanction, description, recordID, evidence,
+                            enrollmentNumber(random.nextInt(studentCount)) + ", " + enrollmentNumber(random.nextInt(studentCount)),
+                            sentence(random, 6));
+                    break;
+                default:
+                    violation = new CodePlagiarismViolation(student, "Code Plagiarism", incidentDate, faculty, gravity,
+                            status, sanction, description, recordID, evidence, "repo-" + random.nextInt(500), similarity,
+                            LANGUAGES[random.nextInt(LANGUAGES.length)], "MOSS");
+            }
+            cases.add(violation);
+        }
+        return cases;
+    }
+
+    /**
+     * Generate the cases into a CaseManager without touching the data files
+     */
+    public CaseManager toCaseManager() {
+        return new CaseManager(generate(), 1000 + caseCount);
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] weights = new double[n];
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, exponent);
+        }
+        return cumulative(weights);
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cdf = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += Math.max(0, weights[i]);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < cdf.length; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    // Index of the first CDF entry above a uniform draw
+    private static int sample(double[] cdf, Random random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] > u) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,367 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index over the free text of each case (see
+ * Violation.forEachSearchableText), ranked with BM25.
+ *
+ * Text is split into lower-cased runs of letters and digits; single
+ * characters and common English stop words are dropped. Each term maps to
+ * a postings list of the cases containing it, with the term frequency and
+ * the case's length in terms, so scoring needs no other lookups.
+ *
+ * Every indexed case keeps a fingerprint of its text. put() skips cases
+ * whose text is unchanged, so re-indexing after an unrelated edit, or
+ * reconciling an index loaded from disk with the cases, only tokenizes
+ * what actually changed.
+ *
+ * Not thread-safe; CaseManager guards it with its lock.
+ */
+public class TextIndex {
+    private static final int MAGIC = 0x41495449; // "AITI"
+    private static final int FORMAT_VERSION = 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "had", "has", "have", "he", "her",
+            "his", "in", "is", "it", "its", "of", "on", "or", "she", "that", "the", "their", "they", "this",
+            "to", "was", "were", "with");
+
+    /**
+     * One ranked search result
+     */
+    public static class Hit {
+        private final int recordID;
+        private final double score;
+
+        Hit(int recordID, double score) {
+            this.recordID = recordID;
+            this.score = score;
+        }
+
+        public int getRecordID() {
+            return recordID;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    // Cases containing one term, sorted by record ID
+    private static class Postings {
+        int[] recordIDs = new int[2];
+        int[] frequencies = new int[2];
+        int[] lengths = new int[2];
+        int size;
+
+        void add(int recordID, int frequency, int length) {
+            int position = Arrays.binarySearch(recordIDs, 0, size, recordID);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                lengths[position] = length;
+                return;
+            }
+            position = -position - 1;
+            if (size == recordIDs.length) {
+                int capacity = size * 2;
+                recordIDs = Arrays.copyOf(recordIDs, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            // New cases get the highest IDs, so this is usually an append
+            System.arraycopy(recordIDs, position, recordIDs, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            System.arraycopy(lengths, position, lengths, position + 1, size - position);
+            recordIDs[position] = recordID;
+            frequencies[position] = frequency;
+            lengths[position] = length;
+            size++;
+        }
+
+        void remove(int recordID) {
+            int position = Arrays.binarySearch(recordIDs, 0, size, recordID);
+            if (position < 0) return;
+            int tail = size - position - 1;
+            System.arraycopy(recordIDs, position + 1, recordIDs, position, tail);
+            System.arraycopy(frequencies, position + 1, frequencies, position, tail);
+            System.arraycopy(lengths, position + 1, lengths, position, tail);
+            size--;
+        }
+    }
+
+    // The terms of one indexed case, kept so it can be removed from the postings
+    private static class Document {
+        final long fingerprint;
+        final int length;
+        final String[] terms;
+        final int[] frequencies;
+
+        Document(long fingerprint, int length, String[] terms, int[] frequencies) {
+            this.fingerprint = fingerprint;
+            this.length = length;
+            this.terms = terms;
+            this.frequencies = frequencies;
+        }
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+    // Set by any change since the index was last written
+    private boolean dirty;
+
+    /**
+     * Index a case, replacing its previous text
+     * @return false if its text was already indexed unchanged
+     */
+    public boolean put(Violation violation) {
+        int recordID = violation.getRecordID();
+        long fingerprint = fingerprint(violation);
+        Document existing = documents.get(recordID);
+        if (existing != null && existing.fingerprint == fingerprint) return false;
+
+        Map<String, Integer> counts = new HashMap<>();
+        int[] length = {0};
+        violation.forEachSearchableText(text -> tokenize(text, term -> {
+            counts.merge(term, 1, Integer::sum);
+            length[0]++;
+        }));
+
+        remove(recordID);
+        String[] terms = new String[counts.size()];
+        int[] frequencies = new int[counts.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            terms[i] = entry.getKey();
+            frequencies[i] = entry.getValue();
+            i++;
+        }
+        addDocument(recordID, new Document(fingerprint, length[0], terms, frequencies));
+        dirty = true;
+        return true;
+    }
+
+    public void remove(int recordID) {
+        Document document = documents.remove(recordID);
+        if (document == null) return;
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            if (list == null) continue;
+            list.remove(recordID);
+            if (list.size == 0) postings.remove(term);
+        }
+        totalLength -= document.length;
+        dirty = true;
+    }
+
+    /**
+     * Drop every case for which keep returns false
+     */
+    public void retainAll(IntPredicate keep) {
+        List<Integer> stale = new ArrayList<>();
+        for (Integer recordID : documents.keySet()) {
+            if (!keep.test(recordID)) stale.add(recordID);
+        }
+        for (Integer recordID : stale) {
+            remove(recordID);
+        }
+    }
+
+    private void addDocument(int recordID, Document document) {
+        documents.put(recordID, document);
+        for (int i = 0; i < document.terms.length; i++) {
+            postings.computeIfAbsent(document.terms[i], k -> new Postings())
+                    .add(recordID, document.frequencies[i], document.length);
+        }
+        totalLength += document.length;
+    }
+
+    /**
+     * Rank the cases containing any of the query's terms
+     * @param query Free text; tokenized like the indexed text
+     * @param limit Maximum number of results
+     * @return the best matches, highest score first
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+        if (terms.isEmpty() || documents.isEmpty() || limit < 1) return Collections.emptyList();
+
+        int documentCount = documents.size();
+        double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+        List<Postings> lists = new ArrayList<>(terms.size());
+        int lowest = Integer.MAX_VALUE;
+        int highest = Integer.MIN_VALUE;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) continue;
+            lists.add(list);
+            lowest = Math.min(lowest, list.recordIDs[0]);
+            highest = Math.max(highest, list.recordIDs[list.size - 1]);
+        }
+        if (lists.isEmpty()) return Collections.emptyList();
+
+        // Record IDs are dense, so scores accumulate in an array indexed by ID
+        // offset; a map is only needed if the IDs are unusually sparse
+        long span = (long) highest - lowest + 1;
+        boolean dense = span <= 4L * documentCount + 1024;
+        double[] denseScores = dense ? new double[(int) span] : null;
+        Map<Integer, double[]> sparseScores = dense ? null : new HashMap<>();
+        for (Postings list : lists) {
+            double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                int frequency = list.frequencies[i];
+                double norm = K1 * (1 - B + B * list.lengths[i] / averageLength);
+                double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                if (dense) {
+                    denseScores[list.recordIDs[i] - lowest] += score;
+                } else {
+                    sparseScores.computeIfAbsent(list.recordIDs[i], k -> new double[1])[0] += score;
+                }
+            }
+        }
+
+        // Keep the best `limit` in a min-heap; ties rank the lower record ID first
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1,
+                (x, y) -> x.score != y.score ? Double.compare(x.score, y.score) : Integer.compare(y.recordID, x.recordID));
+        if (dense) {
+            // Ascending IDs, so an equal score never displaces an earlier hit
+            for (int offset = 0; offset < denseScores.length; offset++) {
+                double score = denseScores[offset];
+                if (score == 0 || (best.size() == limit && score <= best.peek().score)) continue;
+                best.add(new Hit(lowest + offset, score));
+                if (best.size() > limit) best.poll();
+            }
+        } else {
+            for (Map.Entry<Integer, double[]> entry : sparseScores.entrySet()) {
+                best.add(new Hit(entry.getKey(), entry.getValue()[0]));
+                if (best.size() > limit) best.poll();
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            hits.add(best.poll());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Pass each indexable term of text to action, in order
+     */
+    static void tokenize(String text, Consumer<String> action) {
+        if (text == null) return;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) i++;
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) i++;
+            if (i - start < 2) continue;
+            String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+            if (!STOP_WORDS.contains(term)) action.accept(term);
+        }
+    }
+
+    // 64-bit FNV-1a over the searchable fields, with a marker between fields
+    private static long fingerprint(Violation violation) {
+        long[] hash = {0xcbf29ce484222325L};
+        violation.forEachSearchableText(text -> {
+            long h = hash[0];
+            if (text != null) {
+                for (int i = 0; i < text.length(); i++) {
+                    h = (h ^ text.charAt(i)) * 0x100000001b3L;
+                }
+            }
+            hash[0] = (h ^ 0xFFFF) * 0x100000001b3L;
+        });
+        return hash[0];
+    }
+
+    /**
+     * Write the index: magic, format version, term table, then per case its
+     * record ID, fingerprint, length and (term, frequency) pairs. Postings
+     * are rebuilt from the cases on read.
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        Map<String, Integer> termIds = new HashMap<>(postings.size() * 2);
+        out.writeInt(postings.size());
+        for (String term : postings.keySet()) {
+            termIds.put(term, termIds.size());
+            out.writeUTF(term);
+        }
+        out.writeInt(documents.size());
+        for (Map.Entry<Integer, Document> entry : documents.entrySet()) {
+            Document document = entry.getValue();
+            out.writeInt(entry.getKey());
+            out.writeLong(document.fingerprint);
+            out.writeInt(document.length);
+            out.writeInt(document.terms.length);
+            for (int i = 0; i < document.terms.length; i++) {
+                out.writeInt(termIds.get(document.terms[i]));
+                out.writeInt(document.frequencies[i]);
+            }
+        }
+        dirty = false;
+    }
+
+    public static TextIndex read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an AIVT text index");
+        }
+        int version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported text index version " + version);
+        }
+        String[] terms = new String[in.readInt()];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = in.readUTF();
+        }
+        TextIndex index = new TextIndex();
+        int documentCount = in.readInt();
+        for (int d = 0; d < documentCount; d++) {
+            int recordID = in.readInt();
+            long fingerprint = in.readLong();
+            int length = in.readInt();
+            int termCount = in.readInt();
+            String[] documentTerms = new String[termCount];
+            int[] frequencies = new int[termCount];
+            for (int i = 0; i < termCount; i++) {
+                int termId = in.readInt();
+                if (termId < 0 || termId >= terms.length) throw new IOException("Corrupt text index");
+                documentTerms[i] = terms[termId];
+                frequencies[i] = in.readInt();
+            }
+            index.addDocument(recordID, new Document(fingerprint, length, documentTerms, frequencies));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,203 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+/**
+ * Validation rules for case input, independent of how the input arrives.
+ *
+ * Each check takes an already-trimmed value and returns null when it is
+ * valid, or a ValidationError describing the first rule it breaks. Nothing
+ * is printed and nothing is allocated for valid input. The simple formats
+ * are checked with character scans; email uses a Pattern compiled once.
+ * InputValidator wraps these checks for the interactive prompts, and the
+ * bulk importer calls them directly.
+ */
+public class ValidationEngine {
+    public static final int ENROLLMENT_LENGTH = 8;
+    public static final int MIN_NAME_LENGTH = 6;
+    public static final int MAX_NAME_LENGTH = 100;
+    public static final int MAX_EMAIL_LENGTH = 254;
+    public static final int MIN_FACULTY_LENGTH = 3;
+    public static final int MIN_DESCRIPTION_LENGTH = 10;
+    public static final int MAX_DESCRIPTION_LENGTH = 1000;
+    public static final int MAX_STRING_LENGTH = 500;
+    public static final int MIN_GRAVITY = 1;
+    public static final int MAX_GRAVITY = 5;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+    public static ValidationError checkEnrollmentNumber(String enrollmentNumber) {
+        if (enrollmentNumber == null || enrollmentNumber.isEmpty()) {
+            return error("enrollmentNumber", ValidationError.Code.EMPTY, "Enrollment number cannot be empty.");
+        }
+        if (enrollmentNumber.length() != ENROLLMENT_LENGTH || !allDigits(enrollmentNumber)) {
+            return error("enrollmentNumber", ValidationError.Code.INVALID_FORMAT,
+                    "Enrollment number must be exactly 8 digits (e.g., 20230001).");
+        }
+        return null;
+    }
+
+    public static ValidationError checkFullName(String fullName) {
+        if (fullName == null || fullName.isEmpty()) {
+            return error("fullName", ValidationError.Code.EMPTY, "Full name cannot be empty.");
+        }
+        if (fullName.length() < MIN_NAME_LENGTH) {
+            return error("fullName", ValidationError.Code.TOO_SHORT, "Full name must be at least 6 characters long.");
+        }
+        for (int i = 0; i < fullName.length(); i++) {
+            if (!isNameChar(fullName.charAt(i))) {
+                return error("fullName", ValidationError.Code.INVALID_CHARACTERS,
+                        "Full name can only contain letters, spaces, hyphens, and apostrophes.");
+            }
+        }
+        if (fullName.length() > MAX_NAME_LENGTH) {
+            return error("fullName", ValidationError.Code.TOO_LONG, "Full name too long (maximum 100 characters).");
+        }
+        return null;
+    }
+
+    public static ValidationError checkEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            return error("email", ValidationError.Code.EMPTY, "Email address cannot be empty.");
+        }
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            return error("email", ValidationError.Code.INVALID_FORMAT,
+                    "Invalid email format. Please enter a valid email address (e.g., user@example.com).");
+        }
+        if (email.length() > MAX_EMAIL_LENGTH) {
+            return error("email", ValidationError.Code.TOO_LONG, "Email address too long (maximum 254 characters).");
+        }
+        return null;
+    }
+
+    public static ValidationError checkFacultyName(String facultyName) {
+        if (facultyName == null || facultyName.isEmpty()) {
+            return error("facultyName", ValidationError.Code.EMPTY, "Faculty name cannot be empty.");
+        }
+        if (facultyName.length() < MIN_FACULTY_LENGTH) {
+            return error("facultyName", ValidationError.Code.TOO_SHORT, "Faculty name must be at least 3 characters long.");
+        }
+        for (int i = 0; i < facultyName.length(); i++) {
+            char c = facultyName.charAt(i);
+            if (!isNameChar(c) && c != ',' && c != '&' && c != '(' && c != ')') {
+                return error("facultyName", ValidationError.Code.INVALID_CHARACTERS,
+                        "Faculty name contains invalid characters.");
+            }
+        }
+        return null;
+    }
+
+    public static ValidationError checkDescription(String description) {
+        if (description == null || description.isEmpty()) {
+            return error("description", ValidationError.Code.EMPTY, "Description cannot be empty.");
+        }
+        if (description.length() < MIN_DESCRIPTION_LENGTH) {
+            return error("description", ValidationError.Code.TOO_SHORT, "Description must be at least 10 characters long.");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            return error("description", ValidationError.Code.TOO_LONG, "Description too long (maximum 1000 characters).");
+        }
+        return null;
+    }
+
+    public static ValidationError checkString(String input, boolean allowEmpty) {
+        if ((input == null || input.isEmpty()) && !allowEmpty) {
+            return error("input", ValidationError.Code.EMPTY, "Input cannot be empty.");
+        }
+        if (input != null && input.length() > MAX_STRING_LENGTH) {
+            return error("input", ValidationError.Code.TOO_LONG, "Input too long (max 500 characters).");
+        }
+        return null;
+    }
+
+    /**
+     * Check that input parses as an integer within [min, max]
+     */
+    public static ValidationError checkInteger(String input, int min, int max) {
+        if (input == null || input.isEmpty()) {
+            return error("number", ValidationError.Code.EMPTY, "Input cannot be empty.");
+        }
+        int value;
+        try {
+            value = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return error("number", ValidationError.Code.INVALID_FORMAT,
+                    "Invalid number format. Please enter a valid integer.");
+        }
+        return checkRange("number", value, min, max);
+    }
+
+    /**
+     * Check that input parses as a decimal number within [min, max]
+     */
+    public static ValidationError checkDouble(String input, double min, double max) {
+        if (input == null || input.isEmpty()) {
+            return error("number", ValidationError.Code.EMPTY, "Input cannot be empty.");
+        }
+        double value;
+        try {
+            value = Double.parseDouble(input);
+        } catch (NumberFormatException e) {
+            return error("number", ValidationError.Code.INVALID_FORMAT,
+                    "Invalid number format. Please enter a valid decimal number.");
+        }
+        if (value < min || value > max) {
+            return error("number", ValidationError.Code.OUT_OF_RANGE,
+                    String.format("Number must be between %.2f and %.2f.", min, max));
+        }
+        return null;
+    }
+
+    public static ValidationError checkGravityLevel(int gravityLevel) {
+        return checkRange("gravityLevel", gravityLevel, MIN_GRAVITY, MAX_GRAVITY);
+    }
+
+    /**
+     * Check that input is an ISO date (YYYY-MM-DD) that is not in the future
+     */
+    public static ValidationError checkDate(String input) {
+        if (input == null || input.isEmpty()) {
+            return error("date", ValidationError.Code.EMPTY, "Date cannot be empty.");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(input, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            return error("date", ValidationError.Code.INVALID_FORMAT,
+                    "Invalid date format. Please use YYYY-MM-DD format (e.g., 2024-03-15).");
+        }
+        if (date.isAfter(LocalDate.now())) {
+            return error("date", ValidationError.Code.FUTURE_DATE, "Date cannot be in the future.");
+        }
+        return null;
+    }
+
+    private static ValidationError checkRange(String field, int value, int min, int max) {
+        if (value < min || value > max) {
+            return error(field, ValidationError.Code.OUT_OF_RANGE,
+                    String.format("Number must be between %d and %d.", min, max));
+        }
+        return null;
+    }
+
+    private static boolean allDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    // Letters (ASCII), whitespace, hyphen, period and apostrophe
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r'
+                || c == '-' || c == '.' || c == '\'';
+    }
+
+    private static ValidationError error(String field, ValidationError.Code code, String message) {
+        return new ValidationError(field, code, message);
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * A rejected input value, as reported by ValidationEngine.
+ */
+public class ValidationError {
+    public enum Code { EMPTY, TOO_SHORT, TOO_LONG, INVALID_FORMAT, INVALID_CHARACTERS, OUT_OF_RANGE, FUTURE_DATE }
+
+    private final String field;
+    private final Code code;
+    private final String message;
+
+    public ValidationError(String field, Code code, String message) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * @return a user-facing explanation, without an "Error:" prefix
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return field + " (" + code + "): " + message;
+    }
+}
@@ -1,157 +1,288 @@
-import java.io.Serializable;
-import java.time.LocalDate;
-
-public abstract class Violation implements Serializable {
-    private static final long serialVersionUID = 1L;
-    
-    protected int recordID;
-    protected Student student; // Changed from separate fields to Student object
-    protected String misconductType;
-    protected LocalDate incidentDate;
-    protected String reportingFaculty;
-    protected int gravityLevel;
-    protected String currentStatus;
-    protected String appliedSanction;
-    protected String incidentDescription;
-    protected LocalDate closureDate;
-    protected String supportingEvidence;
-
-    // Updated constructor to use Student object
-    public Violation(Student student, String misconductType, 
-                    LocalDate incidentDate, String reportingFaculty, int gravityLevel, 
-                    String currentStatus, String appliedSanction, String incidentDescription, 
-                    int recordID, String supportingEvidence) {
-        this.student = student;
-        this.misconductType = misconductType;
-        this.incidentDate = incidentDate;
-        this.reportingFaculty = reportingFaculty;
-        this.gravityLevel = gravityLevel;
-        this.currentStatus = currentStatus;
-        this.appliedSanction = appliedSanction;
-        this.incidentDescription = incidentDescription;
-        this.recordID = recordID;
-        this.supportingEvidence = supportingEvidence;
-        this.closureDate = null;
-    }
-
-    // Getters and setters
-    public int getRecordID() { 
-        return recordID; 
-    }
-    
-    public void setRecordID(int recordID) { 
-        this.recordID = recordID; 
-    }
-    
-    public Student getStudent() { 
-        return student; 
-    }
-    
-    public void setStudent(Student student) { 
-        this.student = student; 
-    }
-    
-    // Convenience methods to access student properties
-    public String getEnrollmentNumber() { 
-        return student.getStudentID(); 
-    }
-    
-    public String getFullName() { 
-        return student.getStudentName(); 
-    }
-    
-    public String getEmail() { 
-        return student.getEmail(); 
-    }
-    
-    public String getDepartment() { 
-        return student.getDepartment(); 
-    }
-    
-    public String getMisconductType() { 
-        return misconductType; 
-    }
-    
-    public void setMisconductType(String misconductType) { 
-        this.misconductType = misconductType; 
-    }
-    
-    public LocalDate getIncidentDate() { 
-        return incidentDate; 
-    }
-    
-    public void setIncidentDate(LocalDate incidentDate) { 
-        this.incidentDate = incidentDate; 
-    }
-    
-    public String getReportingFaculty() { 
-        return reportingFaculty; 
-    }
-    
-    public void setReportingFaculty(String reportingFaculty) { 
-        this.reportingFaculty = reportingFaculty; 
-    }
-    
-    public int getGravityLevel() { 
-        return gravityLevel; 
-    }
-    
-    public void setGravityLevel(int gravityLevel) { 
-        this.gravityLevel = gravityLevel; 
-    }
-    
-    public String getCurrentStatus() { 
-        return currentStatus; 
-    }
-    
-    public void setCurrentStatus(String currentStatus) { 
-        this.currentStatus = currentStatus; 
-    }
-    
-    public String getAppliedSanction() { 
-        return appliedSanction; 
-    }
-    
-    public void setAppliedSanction(String appliedSanction) { 
-        this.appliedSanction = appliedSanction; 
-    }
-    
-    public String getIncidentDescription() { 
-        return incidentDescription; 
-    }
-    
-    public void setIncidentDescription(String incidentDescription) { 
-        this.incidentDescription = incidentDescription; 
-    }
-    
-    public LocalDate getClosureDate() { 
-        return closureDate; 
-    }
-    
-    public void setClosureDate(LocalDate closureDate) { 
-        this.closureDate = closureDate; 
-    }
-    
-    public String getSupportingEvidence() { 
-        return supportingEvidence; 
-    }
-    
-    public void setSupportingEvidence(String supportingEvidence) { 
-        this.supportingEvidence = supportingEvidence; 
-    }
-
-    public void updateStatus(String newStatus) {
-        this.currentStatus = newStatus;
-        if ("Closed".equalsIgnoreCase(newStatus)) {
-            this.closureDate = LocalDate.now();
-        }
-    }
-
-    public abstract String generateReport();
-    
-    @Override
-    public String toString() {
-        return String.format("Case ID: %d | Student: %s | Type: %s | Status: %s | Gravity: %d/5",
-                recordID, student.getStudentName(), misconductType, currentStatus, gravityLevel);
-    }
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+public abstract class Violation implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    
+    protected int recordID;
+    protected Student student; // Changed from separate fields to Student object
+    protected String misconductType;
+    protected LocalDate incidentDate;
+    protected String reportingFaculty;
+    protected int gravityLevel;
+    protected String currentStatus;
+    protected String appliedSanction;
+    protected String incidentDescription;
+    protected LocalDate closureDate;
+    protected String supportingEvidence;
+    // Enum codes for the labels above; null when a legacy label is outside the known set
+    protected MisconductType typeCode;
+    protected CaseStatus statusCode;
+    protected Sanction sanctionCode;
+    // Owner notified on indexed-field changes; re-attached after loading
+    private transient ViolationListener listener;
+
+    // Updated constructor to use Student object
+    public Violation(Student student, String misconductType, 
+                    LocalDate incidentDate, String reportingFaculty, int gravityLevel, 
+                    String currentStatus, String appliedSanction, String incidentDescription, 
+                    int recordID, String supportingEvidence) {
+        this.student = student;
+        assignMisconductType(misconductType);
+        this.incidentDate = incidentDate;
+        this.reportingFaculty = reportingFaculty;
+        this.gravityLevel = gravityLevel;
+        assignStatus(currentStatus);
+        assignSanction(appliedSanction);
+        this.incidentDescription = incidentDescription;
+        this.recordID = recordID;
+        this.supportingEvidence = supportingEvidence;
+        this.closureDate = null;
+    }
+
+    // Getters and setters
+    public int getRecordID() { 
+        return recordID; 
+    }
+    
+    public void setRecordID(int recordID) { 
+        this.recordID = recordID; 
+    }
+    
+    public Student getStudent() { 
+        return student; 
+    }
+    
+    public void setStudent(Student student) { 
+        change(() -> this.student = student);
+    }
+    
+    // Convenience methods to access student properties
+    public String getEnrollmentNumber() { 
+        return student.getStudentID(); 
+    }
+    
+    public String getFullName() { 
+        return student.getStudentName(); 
+    }
+    
+    public String getEmail() { 
+        return student.getEmail(); 
+    }
+    
+    public String getDepartment() { 
+        return student.getDepartment(); 
+    }
+    
+    public String getMisconductType() { 
+        return misconductType; 
+    }
+    
+    public void setMisconductType(String misconductType) { 
+        change(() -> assignMisconductType(misconductType));
+    }
+
+    public MisconductType getMisconductTypeCode() {
+        return typeCode;
+    }
+    
+    public LocalDate getIncidentDate() { 
+        return incidentDate; 
+    }
+    
+    public void setIncidentDate(LocalDate incidentDate) { 
+        change(() -> this.incidentDate = incidentDate);
+    }
+    
+    public String getReportingFaculty() { 
+        return reportingFaculty; 
+    }
+    
+    public void setReportingFaculty(String reportingFaculty) { 
+        change(() -> this.reportingFaculty = reportingFaculty);
+    }
+    
+    public int getGravityLevel() { 
+        return gravityLevel; 
+    }
+    
+    public void setGravityLevel(int gravityLevel) { 
+        change(() -> this.gravityLevel = gravityLevel);
+    }
+    
+    public String getCurrentStatus() { 
+        return currentStatus; 
+    }
+    
+    public void setCurrentStatus(String currentStatus) { 
+        change(() -> assignStatus(currentStatus));
+    }
+
+    public CaseStatus getStatusCode() {
+        return statusCode;
+    }
+    
+    public String getAppliedSanction() { 
+        return appliedSanction; 
+    }
+    
+    public void setAppliedSanction(String appliedSanction) { 
+        change(() -> assignSanction(appliedSanction));
+    }
+
+    public void setAppliedSanction(Sanction sanction) {
+        setAppliedSanction(sanction.getLabel());
+    }
+
+    public Sanction getSanctionCode() {
+        return sanctionCode;
+    }
+    
+    public String getIncidentDescription() { 
+        return incidentDescription; 
+    }
+    
+    public void setIncidentDescription(String incidentDescription) { 
+        change(() -> this.incidentDescription = incidentDescription);
+    }
+    
+    public LocalDate getClosureDate() { 
+        return closureDate; 
+    }
+    
+    public void setClosureDate(LocalDate closureDate) { 
+        change(() -> this.closureDate = closureDate);
+    }
+    
+    public String getSupportingEvidence() { 
+        return supportingEvidence; 
+    }
+    
+    public void setSupportingEvidence(String supportingEvidence) { 
+        change(() -> this.supportingEvidence = supportingEvidence);
+    }
+
+    public void updateStatus(String newStatus) {
+        change(() -> {
+            boolean wasClosed = statusCode == CaseStatus.CLOSED;
+            assignStatus(newStatus);
+            if (statusCode == CaseStatus.CLOSED) {
+                this.closureDate = LocalDate.now();
+            } else if (wasClosed) {
+                // A reopened case is no longer closed, so it keeps no closure date
+                this.closureDate = null;
+            }
+        });
+    }
+
+    public void updateStatus(CaseStatus newStatus) {
+        updateStatus(newStatus.getLabel());
+    }
+
+    // Known labels are stored in their canonical spelling; anything else is kept verbatim
+    private void assignMisconductType(String label) {
+        this.typeCode = MisconductType.fromLabel(label);
+        this.misconductType = typeCode != null ? typeCode.getLabel() : label;
+    }
+
+    private void assignStatus(String label) {
+        this.statusCode = CaseStatus.fromLabel(label);
+        this.currentStatus = statusCode != null ? statusCode.getLabel() : label;
+    }
+
+    private void assignSanction(String label) {
+        this.sanctionCode = Sanction.fromLabel(label);
+        this.appliedSanction = sanctionCode != null ? sanctionCode.getLabel() : label;
+    }
+
+    // Stores written before the enum codes existed only carry the labels
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (typeCode == null) assignMisconductType(misconductType);
+        if (statusCode == null) assignStatus(currentStatus);
+        if (sanctionCode == null) assignSanction(appliedSanction);
+    }
+
+    // Swaps in the registry's shared instance for the same student without
+    // notifying the listener, since nothing indexed changes
+    void useCanonicalStudent(Student canonical) {
+        this.student = canonical;
+    }
+
+    void setListener(ViolationListener listener) {
+        this.listener = listener;
+    }
+
+    // Field updates go through the listener so the owner can re-index the
+    // case around them
+    protected void change(Runnable update) {
+        if (listener != null) {
+            listener.applyChange(this, update);
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Pass each free-text field investigators search to action: the
+     * incident description and supporting evidence, plus any details the
+     * subclass records. Values may be null.
+     */
+    public void forEachSearchableText(Consumer<String> action) {
+        action.accept(incidentDescription);
+        action.accept(supportingEvidence);
+    }
+
+    public abstract String generateReport();
+
+    /**
+     * Append this case's report to out. The text is the same as
+     * generateReport; both render the subclass's compiled ReportTemplate.
+     */
+    public abstract void appendReport(Appendable out) throws IOException;
+
+    /**
+     * Fields shared by every report layout: recordID, studentName, studentID,
+     * email, department, incidentDate, reportingFaculty, gravityLevel,
+     * currentStatus, appliedSanction, incidentDescription, supportingEvidence
+     */
+    protected static <T extends Violation> ReportTemplate.Fields<T> commonReportFields() {
+        return new ReportTemplate.Fields<T>()
+                .add("recordID", (v, out) -> out.append(Integer.toString(v.recordID)))
+                .add("studentName", (v, out) -> out.append(v.student.getStudentName()))
+                .add("studentID", (v, out) -> out.append(v.student.getStudentID()))
+                .add("email", (v, out) -> out.append(v.student.getEmail()))
+                .add("department", (v, out) -> out.append(v.student.getDepartment()))
+                .add("incidentDate", (v, out) -> out.append(String.valueOf(v.incidentDate)))
+                .add("reportingFaculty", (v, out) -> out.append(v.reportingFaculty))
+                .add("gravityLevel", (v, out) -> out.append(Integer.toString(v.gravityLevel)))
+                .add("currentStatus", (v, out) -> out.append(v.currentStatus))
+                .add("appliedSanction", (v, out) -> out.append(v.appliedSanction))
+                .add("incidentDescription", (v, out) -> out.append(v.incidentDescription))
+                .add("supportingEvidence", (v, out) -> out.append(v.supportingEvidence));
+    }
+
+    // Same digits as String.format("%.1f"), which rounds the shortest decimal form half-up
+    protected static void appendOneDecimal(Appendable out, double value) throws IOException {
+        if (Double.isFinite(value)) {
+            BigDecimal rounded = BigDecimal.valueOf(value).setScale(1, RoundingMode.HALF_UP);
+            // Formatter keeps the sign of negative values that round to zero
+            if (rounded.signum() == 0 && (Double.doubleToRawLongBits(value) < 0)) out.append('-');
+            out.append(rounded.toPlainString());
+        } else {
+            out.append(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Case ID: %d | Student: %s | Type: %s | Status: %s | Gravity: %d/5",
+                recordID, student.getStudentName(), misconductType, currentStatus, gravityLevel);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,333 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned binary format for the Violation hierarchy.
+ *
+ * Snapshot layout: magic, format version, next case ID, string table,
+ * student table, case count, then one record per case. A record is a type
+ * tag followed by the common Violation fields and the subclass fields.
+ * Strings are stored as string-table references, students as student-table
+ * references (so each student is stored once), dates as epoch-day ints.
+ * Version 1 snapshots had no student table and stored students inline.
+ *
+ * Standalone records (journal entries) use the same field layout with the
+ * strings and student written inline.
+ */
+public class ViolationCodec {
+    private static final int MAGIC = 0x41495654; // "AIVT"
+    public static final int FORMAT_VERSION = 2;
+
+    private static final byte TAG_PLAGIARISM = 1;
+    private static final byte TAG_CHEATING = 2;
+    private static final byte TAG_COLLUSION = 3;
+    private static final byte TAG_CODE_PLAGIARISM = 4;
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private interface StringSink {
+        void write(DataOutput out, String value) throws IOException;
+    }
+
+    private interface StringSource {
+        String read(DataInput in) throws IOException;
+    }
+
+    private interface StudentSink {
+        void write(DataOutput out, Student student) throws IOException;
+    }
+
+    private interface StudentSource {
+        Student read(DataInput in) throws IOException;
+    }
+
+    private static final StringSink INLINE_SINK = ViolationCodec::writeInlineString;
+    private static final StringSource INLINE_SOURCE = ViolationCodec::readInlineString;
+    private static final StudentSink INLINE_STUDENT_SINK = (out, student) -> writeStudent(out, student, INLINE_SINK);
+    private static final StudentSource INLINE_STUDENT_SOURCE = in -> readStudent(in, INLINE_SOURCE);
+
+    /**
+     * Write all cases as a snapshot with a shared string table
+     * @param out The destination stream
+     * @param cases The cases to write
+     * @param nextCaseId The next record ID to be assigned
+     */
+    public static void writeSnapshot(DataOutputStream out, List<Violation> cases, int nextCaseId) throws IOException {
+        Map<String, Integer> tableIndex = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        StringSink tableSink = (o, value) -> {
+            if (value == null) {
+                writeVarInt(o, 0);
+                return;
+            }
+            Integer id = tableIndex.get(value);
+            if (id == null) {
+                id = table.size();
+                tableIndex.put(value, id);
+                table.add(value);
+            }
+            writeVarInt(o, id + 1);
+        };
+
+        // Students are deduplicated by ID; CaseManager already shares one instance per ID
+        Map<String, Integer> studentIndex = new HashMap<>();
+        ByteArrayOutputStream studentBytes = new ByteArrayOutputStream();
+        DataOutputStream studentTable = new DataOutputStream(studentBytes);
+        StudentSink studentSink = (o, student) -> {
+            if (student == null) {
+                writeVarInt(o, 0);
+                return;
+            }
+            Integer id = studentIndex.get(student.getStudentID());
+            if (id == null) {
+                id = studentIndex.size();
+                studentIndex.put(student.getStudentID(), id);
+                writeStudent(studentTable, student, tableSink);
+            }
+            writeVarInt(o, id + 1);
+        };
+
+        // Records are encoded first so the tables are complete before they are written
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(Math.max(64, cases.size() * 48));
+        DataOutputStream records = new DataOutputStream(recordBytes);
+        for (Violation v : cases) {
+            writeRecord(records, v, tableSink, studentSink);
+        }
+        records.flush();
+        studentTable.flush();
+
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeInt(nextCaseId);
+        writeVarInt(out, table.size());
+        for (String value : table) {
+            writeInlineString(out, value);
+        }
+        writeVarInt(out, studentIndex.size());
+        studentBytes.writeTo(out);
+        writeVarInt(out, cases.size());
+        recordBytes.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Read a snapshot written by writeSnapshot
+     * @return a CaseManager holding the decoded cases
+     */
+    public static CaseManager readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an AIVT data file");
+        }
+        int version = in.readUnsignedShort();
+        if (version > FORMAT_VERSION) {
+            throw new IOException("Unsupported data format version " + version);
+        }
+        int nextCaseId = in.readInt();
+
+        String[] table = new String[readVarInt(in)];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = readInlineString(in);
+        }
+        StringSource tableSource = i -> {
+            int ref = readVarInt(i);
+            return ref == 0 ? null : table[ref - 1];
+        };
+
+        StudentSource studentSource;
+        if (version >= 2) {
+            Student[] students = new Student[readVarInt(in)];
+            for (int i = 0; i < students.length; i++) {
+                students[i] = readStudent(in, tableSource);
+            }
+            studentSource = i -> {
+                int ref = readVarInt(i);
+                return ref == 0 ? null : students[ref - 1];
+            };
+        } else {
+            studentSource = i -> readStudent(i, tableSource);
+        }
+
+        int count = readVarInt(in);
+        List<Violation> cases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cases.add(readRecord(in, tableSource, studentSource));
+        }
+        return new CaseManager(cases, nextCaseId);
+    }
+
+    /**
+     * Encode a single case as a self-contained record
+     */
+    public static byte[] encode(Violation violation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeRecord(out, violation, INLINE_SINK, INLINE_STUDENT_SINK);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a record produced by encode
+     */
+    public static Violation decode(byte[] record) throws IOException {
+        return readRecord(new DataInputStream(new ByteArrayInputStream(record)), INLINE_SOURCE, INLINE_STUDENT_SOURCE);
+    }
+
+    private static void writeRecord(DataOutput out, Violation v, StringSink strings,
+                                    StudentSink students) throws IOException {
+        out.writeByte(tagFor(v));
+        out.writeInt(v.getRecordID());
+        students.write(out, v.getStudent());
+
+        strings.write(out, v.getMisconductType());
+        writeDate(out, v.getIncidentDate());
+        strings.write(out, v.getReportingFaculty());
+        out.writeByte(v.getGravityLevel());
+        strings.write(out, v.getCurrentStatus());
+        strings.write(out, v.getAppliedSanction());
+        strings.write(out, v.getIncidentDescription());
+        writeDate(out, v.getClosureDate());
+        strings.write(out, v.getSupportingEvidence());
+
+        if (v instanceof CodePlagiarismViolation) {
+            CodePlagiarismViolation code = (CodePlagiarismViolation) v;
+            strings.write(out, code.getSourceDetected());
+            out.writeDouble(code.getSimilarityPercentage());
+            strings.write(out, code.getProgrammingLanguage());
+            strings.write(out, code.getDetectionTool());
+        } else if (v instanceof PlagiarismViolation) {
+            PlagiarismViolation plagiarism = (PlagiarismViolation) v;
+            strings.write(out, plagiarism.getSourceDetected());
+            out.writeDouble(plagiarism.getSimilarityPercentage());
+        } else if (v instanceof CheatingViolation) {
+            CheatingViolation cheating = (CheatingViolation) v;
+            strings.write(out, cheating.getCheatingMethod());
+            strings.write(out, cheating.getUnauthorizedMaterials());
+        } else if (v instanceof CollusionViolation) {
+            CollusionViolation collusion = (CollusionViolation) v;
+            strings.write(out, collusion.getInvolvedParties());
+            strings.write(out, collusion.getCollaborationDetails());
+        }
+    }
+
+    private static Violation readRecord(DataInput in, StringSource strings,
+                                        StudentSource students) throws IOException {
+        byte tag = in.readByte();
+        int recordID = in.readInt();
+        Student student = students.read(in);
+
+        String misconductType = strings.read(in);
+        LocalDate incidentDate = readDate(in);
+        String reportingFaculty = strings.read(in);
+        int gravityLevel = in.readByte();
+        String currentStatus = strings.read(in);
+        String appliedSanction = strings.read(in);
+        String incidentDescription = strings.read(in);
+        LocalDate closureDate = readDate(in);
+        String supportingEvidence = strings.read(in);
+
+        Violation violation;
+        switch (tag) {
+            case TAG_PLAGIARISM:
+                violation = new PlagiarismViolation(student, misconductType, incidentDate, reportingFaculty,
+                        gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID,
+                        supportingEvidence, strings.read(in), in.readDouble());
+                break;
+            case TAG_CHEATING:
+                violation = new CheatingViolation(student, misconductType, incidentDate, reportingFaculty,
+                        gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID,
+                        supportingEvidence, strings.read(in), strings.read(in));
+                break;
+            case TAG_COLLUSION:
+                violation = new CollusionViolation(student, misconductType, incidentDate, reportingFaculty,
+                        gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID,
+                        supportingEvidence, strings.read(in), strings.read(in));
+                break;
+            case TAG_CODE_PLAGIARISM:
+                violation = new CodePlagiarismViolation(student, misconductType, incidentDate, reportingFaculty,
+                        gravityLevel, currentStatus, appliedSanction, incidentDescription, recordID,
+                        supportingEvidence, strings.read(in), in.readDouble(), strings.read(in), strings.read(in));
+                break;
+            default:
+                throw new IOException("Unknown violation type tag " + tag);
+        }
+        violation.setClosureDate(closureDate);
+        return violation;
+    }
+
+    // A null student is written as a null ID
+    private static void writeStudent(DataOutput out, Student student, StringSink strings) throws IOException {
+        strings.write(out, student == null ? null : student.getStudentID());
+        strings.write(out, student == null ? null : student.getStudentName());
+        strings.write(out, student == null ? null : student.getEmail());
+        strings.write(out, student == null ? null : student.getDepartment());
+    }
+
+    private static Student readStudent(DataInput in, StringSource strings) throws IOException {
+        String studentID = strings.read(in);
+        String studentName = strings.read(in);
+        String email = strings.read(in);
+        String department = strings.read(in);
+        return studentID == null ? null : new Student(studentID, studentName, email, department);
+    }
+
+    // Subclass check must come before its parent
+    private static byte tagFor(Violation v) throws IOException {
+        if (v instanceof CodePlagiarismViolation) return TAG_CODE_PLAGIARISM;
+        if (v instanceof PlagiarismViolation) return TAG_PLAGIARISM;
+        if (v instanceof CheatingViolation) return TAG_CHEATING;
+        if (v instanceof CollusionViolation) return TAG_COLLUSION;
+        throw new IOException("No binary encoding for " + v.getClass().getName());
+    }
+
+    private static void writeDate(DataOutput out, LocalDate date) throws IOException {
+        out.writeInt(date == null ? NO_DATE : (int) date.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInput in) throws IOException {
+        int epochDay = in.readInt();
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    // Length is stored as byte count + 1 so that 0 can mean null
+    private static void writeInlineString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    private static String readInlineString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length == 0) return null;
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
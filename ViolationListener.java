@@ -0,0 +1,11 @@
+/**
+ * Applies changes to a Violation's indexed fields so that the owning
+ * CaseManager can keep its secondary indexes in sync.
+ */
+public interface ViolationListener {
+    /**
+     * Run update, which changes fields of violation, and re-index the
+     * violation around it. Readers of the indexes see the change whole.
+     */
+    void applyChange(Violation violation, Runnable update);
+}
@@ -0,0 +1,149 @@
+/**
+ * Background snapshot writer for write-behind mode (-Daivt.writeBehind=true).
+ *
+ * Mutations only mark the store dirty. A single daemon thread waits until
+ * either aivt.writeBehind.intervalMs has passed since the first pending
+ * change or aivt.writeBehind.maxDirty changes are pending, then writes one
+ * snapshot covering all of them. Explicit saves and shutdown flush
+ * synchronously on the caller's thread.
+ */
+public class WriteBehindPersister {
+    private final CaseManager caseManager;
+    private final long intervalMillis;
+    private final int maxDirty;
+
+    // Guards dirtyCount and running; the writer thread waits on it
+    private final Object stateLock = new Object();
+    // Serializes snapshot writes from the writer thread and from callers
+    private final Object flushLock = new Object();
+    private final Thread writer;
+    private final Thread shutdownHook;
+
+    private int dirtyCount;
+    private boolean running = true;
+    private long flushCount;
+    private long coalescedWrites;
+
+    public WriteBehindPersister(CaseManager caseManager, long intervalMillis, int maxDirty) {
+        this.caseManager = caseManager;
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.maxDirty = Math.max(1, maxDirty);
+        this.writer = new Thread(this::runWriter, "aivt-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        // Covers exits that bypass CaseManager.shutdown, e.g. Ctrl+C
+        this.shutdownHook = new Thread(() -> flush(DataPersistenceManager.SaveMode.AUTO));
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Record a mutation to be covered by the next background write
+     */
+    public void markDirty() {
+        synchronized (stateLock) {
+            dirtyCount++;
+            if (dirtyCount == 1 || dirtyCount >= maxDirty) {
+                stateLock.notifyAll();
+            }
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            synchronized (stateLock) {
+                try {
+                    while (running && dirtyCount == 0) {
+                        stateLock.wait();
+                    }
+                    // Let a burst of changes accumulate before writing
+                    long deadline = System.currentTimeMillis() + intervalMillis;
+                    long remaining = intervalMillis;
+                    while (running && dirtyCount < maxDirty && remaining > 0) {
+                        stateLock.wait(remaining);
+                        remaining = deadline - System.currentTimeMillis();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (!running) return;
+            }
+            flush(DataPersistenceManager.SaveMode.AUTO);
+        }
+    }
+
+    /**
+     * Write a snapshot now if anything is pending, or unconditionally for
+     * MANUAL and EXPORT_ONLY saves
+     * @param mode The save mode to write with
+     * @return true if nothing needed writing or the write succeeded
+     */
+    public boolean flush(DataPersistenceManager.SaveMode mode) {
+        synchronized (flushLock) {
+            int pending;
+            synchronized (stateLock) {
+                pending = dirtyCount;
+                dirtyCount = 0;
+            }
+            if (pending == 0 && mode == DataPersistenceManager.SaveMode.AUTO) {
+                return true;
+            }
+            boolean saved = DataPersistenceManager.saveData(caseManager, mode);
+            synchronized (stateLock) {
+                if (!saved) {
+                    // Keep the changes pending so a later flush retries them
+                    dirtyCount += pending;
+                } else if (pending > 0) {
+                    flushCount++;
+                    coalescedWrites += pending - 1;
+                }
+            }
+            return saved;
+        }
+    }
+
+    /**
+     * Stop the writer thread and write anything still pending
+     * @return true if the final flush succeeded
+     */
+    public boolean shutdown() {
+        synchronized (stateLock) {
+            running = false;
+            stateLock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook performs the same flush
+        }
+        return flush(DataPersistenceManager.SaveMode.AUTO);
+    }
+
+    public int getPendingChanges() {
+        synchronized (stateLock) {
+            return dirtyCount;
+        }
+    }
+
+    /**
+     * @return the number of snapshot writes performed for pending changes
+     */
+    public long getFlushCount() {
+        synchronized (stateLock) {
+            return flushCount;
+        }
+    }
+
+    /**
+     * @return the number of changes that were absorbed into another change's write
+     */
+    public long getCoalescedWrites() {
+        synchronized (stateLock) {
+            return coalescedWrites;
+        }
+    }
+}
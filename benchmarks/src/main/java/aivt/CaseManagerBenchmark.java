@@ -0,0 +1,32 @@
+package aivt;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Case lookups by record ID and by student
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CaseManagerBenchmark {
+    @Benchmark
+    public Violation searchCase(CaseStoreState store, CaseStoreState.Keys keys) {
+        return store.caseManager.searchCase(1000 + keys.nextCaseIndex());
+    }
+
+    @Benchmark
+    public List<Violation> searchByStudent(CaseStoreState store, CaseStoreState.Keys keys) {
+        return store.caseManager.searchByStudent(keys.nextEnrollmentNumber());
+    }
+}
@@ -0,0 +1,81 @@
+package aivt;
+
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A CaseManager holding a SyntheticDataset, built once per trial and shared
+ * by the benchmark threads. The dataset shape comes from JMH parameters,
+ * e.g. -p cases=100000 -p skew=1.2 -p typeMix=1,1,1,1.
+ */
+@State(Scope.Benchmark)
+public class CaseStoreState {
+    @Param("10000")
+    public int cases;
+
+    @Param("2000")
+    public int students;
+
+    // Zipf exponent of cases per student; 0 spreads them evenly
+    @Param("1.0")
+    public double skew;
+
+    // Weights of plagiarism, cheating, collusion and code plagiarism cases
+    @Param("4,2,1,3")
+    public String typeMix;
+
+    @Param("42")
+    public long seed;
+
+    List<Violation> generated;
+    CaseManager caseManager;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        String[] weights = typeMix.split(",");
+        if (weights.length != 4) throw new IllegalArgumentException("typeMix needs four weights: " + typeMix);
+        SyntheticDataset dataset = new SyntheticDataset(seed).cases(cases).students(students).skew(skew)
+                .typeMix(Double.parseDouble(weights[0]), Double.parseDouble(weights[1]),
+                        Double.parseDouble(weights[2]), Double.parseDouble(weights[3]));
+        generated = dataset.generate();
+        caseManager = new CaseManager(generated, 1000 + generated.size());
+    }
+
+    /**
+     * Lookup keys drawn ahead of time, so the random number generator is not
+     * part of the measured operation. Each benchmark thread has its own.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private static final int COUNT = 1 << 12;
+
+        private final int[] caseIndexes = new int[COUNT];
+        private final String[] enrollmentNumbers = new String[COUNT];
+        private int next;
+
+        @Setup(Level.Trial)
+        public void draw(CaseStoreState store) {
+            Random random = new Random(store.seed + Thread.currentThread().getId());
+            for (int i = 0; i < COUNT; i++) {
+                caseIndexes[i] = random.nextInt(store.generated.size());
+                enrollmentNumbers[i] = SyntheticDataset.enrollmentNumber(random.nextInt(store.students));
+            }
+        }
+
+        int nextCaseIndex() {
+            next = (next + 1) & (COUNT - 1);
+            return caseIndexes[next];
+        }
+
+        String nextEnrollmentNumber() {
+            next = (next + 1) & (COUNT - 1);
+            return enrollmentNumbers[next];
+        }
+    }
+}
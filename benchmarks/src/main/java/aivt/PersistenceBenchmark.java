@@ -0,0 +1,77 @@
+package aivt;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writing and reading the binary snapshot. The data files go to a temporary
+ * directory that is deleted after the trial, so the benchmark never touches
+ * a store in the working directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    private Path directory;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void useTemporaryDirectory(CaseStoreState store) throws IOException {
+        directory = Files.createTempDirectory("aivt-bench");
+        DataPersistenceManager.setDataDirectory(directory);
+        // Every save and load reports itself on System.out
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        if (!DataPersistenceManager.saveData(store.caseManager)) {
+            throw new IOException("Could not write the snapshot to " + directory);
+        }
+    }
+
+    @Benchmark
+    public boolean saveData(CaseStoreState store) {
+        return DataPersistenceManager.saveData(store.caseManager);
+    }
+
+    @Benchmark
+    public CaseManager loadData() {
+        return DataPersistenceManager.loadData();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTemporaryDirectory() throws IOException {
+        System.setOut(console);
+        DataPersistenceManager.setDataDirectory(Paths.get(""));
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,31 @@
+package aivt;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rendering a single case report and the summary over all cases
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReportBenchmark {
+    @Benchmark
+    public String generateReport(CaseStoreState store, CaseStoreState.Keys keys) {
+        return store.generated.get(keys.nextCaseIndex()).generateReport();
+    }
+
+    @Benchmark
+    public String generateSummaryReport(CaseStoreState store) {
+        return store.caseManager.generateSummaryReport();
+    }
+}